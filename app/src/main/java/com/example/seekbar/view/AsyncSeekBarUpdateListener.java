@@ -0,0 +1,153 @@
+package com.example.seekbar.view;
+
+import java.util.concurrent.Executor;
+
+/**
+ * 在指定的线程池中回调进度，不阻塞滑动
+ * <p>
+ * 待回调的事件只保存在三个固定的位置：onUpdateStart、最新的onUpdate和onUpdateEnd，回调时不分配内存
+ * 回调线程处理不过来时，未回调的onUpdate会被新的进度覆盖，不会堆积过期的进度
+ * 上一次手势的onUpdateEnd还没有回调时又开始了新的手势，两次手势合并为一次：
+ * 保留最早的onUpdateStart和最后的onUpdateEnd，回调的onUpdateStart和onUpdateEnd始终成对
+ */
+public class AsyncSeekBarUpdateListener implements SeekBarView.SeekBarUpdateListener {
+    private static final int TYPE_NONE = -1;
+    private static final int TYPE_START = 0;
+    private static final int TYPE_UPDATE = 1;
+    private static final int TYPE_END = 2;
+
+    private final SeekBarView.SeekBarUpdateListener listener;
+    private final Executor executor;
+    private final Object lock = new Object();
+    // 三个位置分别是start、update和end，按照这个顺序回调
+    private final boolean[] pending = new boolean[3];
+    private final int[] lefts = new int[3];
+    private final int[] rights = new int[3];
+    private boolean draining; // 是否已经提交了回调任务
+    private long droppedCount; // 被覆盖的onUpdate个数
+    private long mergedGestures; // 与下一次手势合并的手势个数
+
+    private final Runnable drainTask = new Runnable() {
+        @Override
+        public void run() {
+            drain();
+        }
+    };
+
+    public AsyncSeekBarUpdateListener(SeekBarView.SeekBarUpdateListener listener, Executor executor) {
+        if (listener == null || executor == null) {
+            throw new IllegalArgumentException("AsyncSeekBarUpdateListener listener and executor is must not null");
+        }
+        this.listener = listener;
+        this.executor = executor;
+    }
+
+    @Override
+    public void onUpdateStart(int left, int right) {
+        offer(TYPE_START, left, right);
+    }
+
+    @Override
+    public void onUpdate(int left, int right) {
+        offer(TYPE_UPDATE, left, right);
+    }
+
+    @Override
+    public void onUpdateEnd(int left, int right) {
+        offer(TYPE_END, left, right);
+    }
+
+    /**
+     * 被新的进度覆盖而没有回调的onUpdate个数
+     */
+    public long getDroppedCount() {
+        synchronized (lock) {
+            return droppedCount;
+        }
+    }
+
+    /**
+     * 上一次手势还没有回调完就开始了新的手势，被合并到下一次手势的手势个数
+     */
+    public long getMergedGestureCount() {
+        synchronized (lock) {
+            return mergedGestures;
+        }
+    }
+
+    private void offer(int type, int left, int right) {
+        boolean schedule;
+        synchronized (lock) {
+            if (type == TYPE_START && pending[TYPE_END]) {
+                // 上一次手势的结束还没有回调，去掉这次结束，新的手势接着上一次的开始
+                // 上一次的开始无论是否已经回调，消费者都还在手势中，不再回调新的开始
+                pending[TYPE_END] = false;
+                mergedGestures++;
+                type = TYPE_NONE;
+            }
+            if (type == TYPE_UPDATE && pending[TYPE_UPDATE]) {
+                // 还没有回调的进度直接用最新的进度覆盖
+                droppedCount++;
+            }
+            if (type != TYPE_NONE) {
+                pending[type] = true;
+                lefts[type] = left;
+                rights[type] = right;
+            }
+            schedule = !draining;
+            draining = true;
+        }
+        if (schedule) {
+            executor.execute(drainTask);
+        }
+    }
+
+    private void drain() {
+        boolean finished = false;
+        try {
+            while (true) {
+                int type = TYPE_NONE;
+                int left;
+                int right;
+                synchronized (lock) {
+                    for (int i = TYPE_START; i <= TYPE_END; i++) {
+                        if (pending[i]) {
+                            type = i;
+                            break;
+                        }
+                    }
+                    if (type == TYPE_NONE) {
+                        draining = false;
+                        finished = true;
+                        return;
+                    }
+                    pending[type] = false;
+                    left = lefts[type];
+                    right = rights[type];
+                }
+                dispatch(type, left, right);
+            }
+        } finally {
+            if (!finished) {
+                // 回调抛出异常，剩下的事件等下一次进度变化时再回调
+                synchronized (lock) {
+                    draining = false;
+                }
+            }
+        }
+    }
+
+    private void dispatch(int type, int left, int right) {
+        switch (type) {
+            case TYPE_START:
+                listener.onUpdateStart(left, right);
+                break;
+            case TYPE_UPDATE:
+                listener.onUpdate(left, right);
+                break;
+            case TYPE_END:
+                listener.onUpdateEnd(left, right);
+                break;
+        }
+    }
+}
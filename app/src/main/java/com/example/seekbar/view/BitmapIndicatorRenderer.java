@@ -0,0 +1,42 @@
+package com.example.seekbar.view;
+
+import android.content.res.Resources;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+
+/**
+ * 使用图片资源的指示器，图片来自共享的缓存
+ */
+public class BitmapIndicatorRenderer implements IndicatorRenderer {
+    private final Resources resources;
+    private final int resId;
+    private final Paint paint = new Paint(Paint.ANTI_ALIAS_FLAG | Paint.FILTER_BITMAP_FLAG);
+    private Bitmap bitmap; // 共享的图片，不能修改或回收
+
+    public BitmapIndicatorRenderer(Resources resources, int resId) {
+        this.resources = resources;
+        this.resId = resId;
+        bitmap = IndicatorBitmapCache.get(resources, resId, 0, 0);
+    }
+
+    @Override
+    public int getWidth() {
+        return bitmap.getWidth();
+    }
+
+    @Override
+    public int getHeight() {
+        return bitmap.getHeight();
+    }
+
+    @Override
+    public void setSize(int width, int height) {
+        bitmap = IndicatorBitmapCache.get(resources, resId, width, height);
+    }
+
+    @Override
+    public void draw(Canvas canvas, float centerX, float top) {
+        canvas.drawBitmap(bitmap, centerX - bitmap.getWidth() / 2, top, paint);
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.seekbar.view;
+
+/**
+ * 数字和负号的字形宽度，用于计算整数刻度值的文字宽度
+ * <p>
+ * 刻度值只包含数字和负号，宽度为每个字符的宽度之和，不需要创建String再测量
+ * 数字之间通常没有字距调整，与measureText的结果一致
+ */
+public class DigitAdvances {
+    /**
+     * 需要测量的字符，0到9和负号
+     */
+    public static final char[] GLYPHS = {'0', '1', '2', '3', '4', '5', '6', '7', '8', '9', '-'};
+    private static final int MINUS = 10;
+
+    private final float[] advances;
+
+    /**
+     * @param advances 与{@link #GLYPHS}一一对应的字形宽度
+     */
+    public DigitAdvances(float[] advances) {
+        if (advances == null || advances.length != GLYPHS.length) {
+            throw new IllegalArgumentException("SeekBarView digit advances is must same size with glyphs");
+        }
+        this.advances = advances.clone();
+    }
+
+    /**
+     * 整数value显示的文字宽度
+     */
+    public float measure(long value) {
+        if (value == 0) {
+            return advances[0];
+        }
+        float width = 0;
+        // 与NumberChars一样统一转成负数计算，Long.MIN_VALUE也不会溢出
+        long remaining = value;
+        if (value < 0) {
+            width = advances[MINUS];
+        } else {
+            remaining = -value;
+        }
+        while (remaining != 0) {
+            width += advances[(int) -(remaining % 10)];
+            remaining /= 10;
+        }
+        return width;
+    }
+}
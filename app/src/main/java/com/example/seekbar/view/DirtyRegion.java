@@ -0,0 +1,81 @@
+package com.example.seekbar.view;
+
+/**
+ * 需要重绘的区域，多个矩形合并为一个外接矩形
+ */
+public class DirtyRegion {
+    private int left;
+    private int top;
+    private int right;
+    private int bottom;
+    private boolean empty = true;
+
+    public void reset() {
+        empty = true;
+        left = top = right = bottom = 0;
+    }
+
+    /**
+     * 合并一个矩形
+     */
+    public void union(int left, int top, int right, int bottom) {
+        if (left >= right || top >= bottom) {
+            return;
+        }
+        if (empty) {
+            this.left = left;
+            this.top = top;
+            this.right = right;
+            this.bottom = bottom;
+            empty = false;
+        } else {
+            this.left = Math.min(this.left, left);
+            this.top = Math.min(this.top, top);
+            this.right = Math.max(this.right, right);
+            this.bottom = Math.max(this.bottom, bottom);
+        }
+    }
+
+    /**
+     * 限制在view的范围内
+     */
+    public void clip(int width, int height) {
+        if (empty) {
+            return;
+        }
+        left = Math.max(left, 0);
+        top = Math.max(top, 0);
+        right = Math.min(right, width);
+        bottom = Math.min(bottom, height);
+        if (left >= right || top >= bottom) {
+            reset();
+        }
+    }
+
+    public boolean isEmpty() {
+        return empty;
+    }
+
+    /**
+     * 区域的面积，单位为像素
+     */
+    public long getArea() {
+        return empty ? 0 : (long) (right - left) * (bottom - top);
+    }
+
+    public int getLeft() {
+        return left;
+    }
+
+    public int getTop() {
+        return top;
+    }
+
+    public int getRight() {
+        return right;
+    }
+
+    public int getBottom() {
+        return bottom;
+    }
+}
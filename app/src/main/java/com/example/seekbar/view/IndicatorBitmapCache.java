@@ -0,0 +1,91 @@
+package com.example.seekbar.view;
+
+import android.content.res.Resources;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.util.LruCache;
+
+/**
+ * 进程内共享的指示器图片缓存
+ * <p>
+ * 以资源id和目标尺寸为key，原始尺寸的图片还包含屏幕密度，多个SeekBarView共用同一张bitmap，取出的bitmap不能修改或回收
+ * 指定尺寸时按照inSampleSize解码后直接缩放到目标尺寸，始终从原图缩放，不会因为多次缩放损失画质
+ */
+public class IndicatorBitmapCache {
+    private static final int MAX_CACHE_SIZE = 4 * 1024 * 1024; // 最多缓存4M的图片
+
+    private static final LruCache<String, Bitmap> CACHE = new LruCache<String, Bitmap>(MAX_CACHE_SIZE) {
+        @Override
+        protected int sizeOf(String key, Bitmap value) {
+            return value.getRowBytes() * value.getHeight();
+        }
+    };
+
+    private IndicatorBitmapCache() {}
+
+    /**
+     * 获取指示器图片
+     *
+     * @param width  目标宽度，小于等于0时使用图片按照屏幕密度缩放后的原始尺寸
+     * @param height 目标高度，小于等于0时使用图片按照屏幕密度缩放后的原始尺寸
+     */
+    public static Bitmap get(Resources resources, int resId, int width, int height) {
+        if (width <= 0 || height <= 0) {
+            width = 0;
+            height = 0;
+        }
+        // 原始尺寸按照Resources的屏幕密度缩放，不同密度的Resources不能共用
+        String key = width == 0
+                ? resId + "@" + resources.getDisplayMetrics().densityDpi
+                : resId + ":" + width + "x" + height;
+        Bitmap bitmap = CACHE.get(key);
+        if (bitmap == null) {
+            bitmap = decode(resources, resId, width, height);
+            if (bitmap == null) {
+                throw new IllegalArgumentException("SeekBarView indicator image is not bitmap: " + resId);
+            }
+            CACHE.put(key, bitmap);
+        }
+        return bitmap;
+    }
+
+    /**
+     * 清空缓存，已经在使用的bitmap不受影响
+     */
+    public static void clear() {
+        CACHE.evictAll();
+    }
+
+    private static Bitmap decode(Resources resources, int resId, int width, int height) {
+        if (width == 0) {
+            return BitmapFactory.decodeResource(resources, resId);
+        }
+        BitmapFactory.Options options = new BitmapFactory.Options();
+        options.inScaled = false;
+        options.inJustDecodeBounds = true;
+        BitmapFactory.decodeResource(resources, resId, options);
+
+        options.inSampleSize = calculateInSampleSize(options.outWidth, options.outHeight, width, height);
+        options.inJustDecodeBounds = false;
+        Bitmap sampled = BitmapFactory.decodeResource(resources, resId, options);
+        if (sampled == null || (sampled.getWidth() == width && sampled.getHeight() == height)) {
+            return sampled;
+        }
+        Bitmap scaled = Bitmap.createScaledBitmap(sampled, width, height, true);
+        if (scaled != sampled) {
+            sampled.recycle();
+        }
+        return scaled;
+    }
+
+    /**
+     * 计算不小于目标尺寸的最大采样率
+     */
+    private static int calculateInSampleSize(int sourceWidth, int sourceHeight, int width, int height) {
+        int inSampleSize = 1;
+        while (sourceWidth / (inSampleSize * 2) >= width && sourceHeight / (inSampleSize * 2) >= height) {
+            inSampleSize *= 2;
+        }
+        return inSampleSize;
+    }
+}
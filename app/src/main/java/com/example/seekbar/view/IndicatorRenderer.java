@@ -0,0 +1,27 @@
+package com.example.seekbar.view;
+
+import android.graphics.Canvas;
+
+/**
+ * 指示器的绘制
+ * <p>
+ * 点击区域和局部刷新的范围都以指示器的宽高计算
+ */
+public interface IndicatorRenderer {
+    int getWidth();
+
+    int getHeight();
+
+    /**
+     * 设置指示器大小
+     */
+    void setSize(int width, int height);
+
+    /**
+     * 画指示器
+     *
+     * @param centerX 指示器中心的x坐标
+     * @param top     指示器顶部的y坐标
+     */
+    void draw(Canvas canvas, float centerX, float top);
+}
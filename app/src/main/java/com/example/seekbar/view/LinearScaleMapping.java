@@ -0,0 +1,39 @@
+package com.example.seekbar.view;
+
+/**
+ * 线性映射，刻度值与位置成正比
+ */
+public class LinearScaleMapping implements ScaleMapping {
+    private final long minValue;
+    private final long maxValue;
+    private final double range;
+
+    public LinearScaleMapping(long minValue, long maxValue) {
+        if (maxValue <= minValue) {
+            throw new IllegalArgumentException("SeekBarView max is must big min value!");
+        }
+        this.minValue = minValue;
+        this.maxValue = maxValue;
+        this.range = (double) (maxValue - minValue);
+    }
+
+    @Override
+    public long getMinValue() {
+        return minValue;
+    }
+
+    @Override
+    public long getMaxValue() {
+        return maxValue;
+    }
+
+    @Override
+    public double toFraction(long value) {
+        return (value - minValue) / range;
+    }
+
+    @Override
+    public double toValue(double fraction) {
+        return minValue + fraction * range;
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.seekbar.view;
+
+/**
+ * 对数映射，刻度值每增加相同的倍数，位置前进相同的距离
+ * <p>
+ * 适合价格、延迟这样跨越几个数量级的范围，最小值必须大于0
+ */
+public class LogScaleMapping implements ScaleMapping {
+    private final long minValue;
+    private final long maxValue;
+    private final double logMin;
+    private final double logRange;
+
+    public LogScaleMapping(long minValue, long maxValue) {
+        if (minValue <= 0) {
+            throw new IllegalArgumentException("SeekBarView log scale min is must big 0");
+        }
+        if (maxValue <= minValue) {
+            throw new IllegalArgumentException("SeekBarView max is must big min value!");
+        }
+        this.minValue = minValue;
+        this.maxValue = maxValue;
+        this.logMin = Math.log(minValue);
+        this.logRange = Math.log(maxValue) - logMin;
+    }
+
+    @Override
+    public long getMinValue() {
+        return minValue;
+    }
+
+    @Override
+    public long getMaxValue() {
+        return maxValue;
+    }
+
+    @Override
+    public double toFraction(long value) {
+        if (value <= minValue) {
+            return 0;
+        }
+        return (Math.log(value) - logMin) / logRange;
+    }
+
+    @Override
+    public double toValue(double fraction) {
+        if (fraction <= 0) {
+            return minValue;
+        }
+        if (fraction >= 1) {
+            return maxValue;
+        }
+        return Math.exp(logMin + fraction * logRange);
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.seekbar.view;
+
+/**
+ * 把整数写入复用的char数组，避免绘制时每帧创建String
+ */
+public class NumberChars {
+    /**
+     * long的最大位数加上负号
+     */
+    public static final int MAX_LENGTH = 20;
+
+    private NumberChars() {}
+
+    /**
+     * 把value写到buffer的开头
+     *
+     * @return 写入的字符个数
+     */
+    public static int format(long value, char[] buffer) {
+        if (value == 0) {
+            buffer[0] = '0';
+            return 1;
+        }
+        boolean negative = value < 0;
+        int length = negative ? 1 : 0;
+        // 统一转成负数计算，Long.MIN_VALUE也不会溢出
+        long remaining = negative ? value : -value;
+        for (long temp = remaining; temp != 0; temp /= 10) {
+            length++;
+        }
+        int index = length;
+        while (remaining != 0) {
+            buffer[--index] = (char) ('0' - remaining % 10);
+            remaining /= 10;
+        }
+        if (negative) {
+            buffer[0] = '-';
+        }
+        return length;
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.seekbar.view;
+
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Path;
+
+/**
+ * 用Path画的箭头指示器，不占用图片内存
+ * <p>
+ * 箭头的Path只在尺寸变化时计算一次
+ */
+public class PathIndicatorRenderer implements IndicatorRenderer {
+    private final boolean upward; // true：箭头向上，false：箭头向下
+    private final Paint paint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final Path path = new Path();
+    private int width;
+    private int height;
+
+    public PathIndicatorRenderer(boolean upward, int color, int width, int height) {
+        this.upward = upward;
+        paint.setColor(color);
+        paint.setStyle(Paint.Style.FILL);
+        setSize(width, height);
+    }
+
+    public void setColor(int color) {
+        paint.setColor(color);
+    }
+
+    @Override
+    public int getWidth() {
+        return width;
+    }
+
+    @Override
+    public int getHeight() {
+        return height;
+    }
+
+    @Override
+    public void setSize(int width, int height) {
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("SeekBarView indicator size is must big 0");
+        }
+        this.width = width;
+        this.height = height;
+        buildPath();
+    }
+
+    /**
+     * 箭头由三角形的箭头和矩形的箭杆组成，箭头占高度的一半
+     */
+    private void buildPath() {
+        float headHeight = height / 2f;
+        float stemHalfWidth = width / 6f;
+        float centerX = width / 2f;
+        path.reset();
+        if (upward) {
+            path.moveTo(centerX, 0);
+            path.lineTo(width, headHeight);
+            path.lineTo(centerX + stemHalfWidth, headHeight);
+            path.lineTo(centerX + stemHalfWidth, height);
+            path.lineTo(centerX - stemHalfWidth, height);
+            path.lineTo(centerX - stemHalfWidth, headHeight);
+            path.lineTo(0, headHeight);
+        } else {
+            path.moveTo(centerX, height);
+            path.lineTo(width, height - headHeight);
+            path.lineTo(centerX + stemHalfWidth, height - headHeight);
+            path.lineTo(centerX + stemHalfWidth, 0);
+            path.lineTo(centerX - stemHalfWidth, 0);
+            path.lineTo(centerX - stemHalfWidth, height - headHeight);
+            path.lineTo(0, height - headHeight);
+        }
+        path.close();
+    }
+
+    @Override
+    public void draw(Canvas canvas, float centerX, float top) {
+        int saveCount = canvas.save();
+        canvas.translate(centerX - width / 2f, top);
+        canvas.drawPath(path, paint);
+        canvas.restoreToCount(saveCount);
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.seekbar.view;
+
+/**
+ * 分段线性映射，用若干个控制点描述自定义的曲线
+ * <p>
+ * 第i个控制点的刻度值为values[i]，位置比例为fractions[i]，控制点之间线性插值
+ * 换算时二分查找所在的分段，复杂度O(log n)，n为控制点个数而不是刻度个数
+ */
+public class PiecewiseScaleMapping implements ScaleMapping {
+    private final long[] values;
+    private final double[] fractions;
+
+    /**
+     * @param values    严格递增的刻度值
+     * @param fractions 与values一一对应的位置比例，严格递增，第一个为0，最后一个为1
+     */
+    public PiecewiseScaleMapping(long[] values, double[] fractions) {
+        if (values == null || fractions == null || values.length < 2 || values.length != fractions.length) {
+            throw new IllegalArgumentException("SeekBarView piecewise scale is must have same size points");
+        }
+        if (fractions[0] != 0 || fractions[fractions.length - 1] != 1) {
+            throw new IllegalArgumentException("SeekBarView piecewise scale fractions is must from 0 to 1");
+        }
+        for (int i = 1; i < values.length; i++) {
+            if (values[i] <= values[i - 1] || fractions[i] <= fractions[i - 1]) {
+                throw new IllegalArgumentException("SeekBarView piecewise scale points is must increase");
+            }
+        }
+        this.values = values.clone();
+        this.fractions = fractions.clone();
+    }
+
+    /**
+     * 每个分段占用相同的宽度，与可变刻度的setSpacing效果相同
+     */
+    public static PiecewiseScaleMapping ofSpacing(long min, long... spacings) {
+        long[] values = ScaleModel.prefixSums(min, spacings);
+        double[] fractions = new double[values.length];
+        for (int i = 0; i < fractions.length; i++) {
+            fractions[i] = (double) i / spacings.length;
+        }
+        return new PiecewiseScaleMapping(values, fractions);
+    }
+
+    @Override
+    public long getMinValue() {
+        return values[0];
+    }
+
+    @Override
+    public long getMaxValue() {
+        return values[values.length - 1];
+    }
+
+    @Override
+    public double toFraction(long value) {
+        if (value <= values[0]) {
+            return 0;
+        }
+        if (value >= values[values.length - 1]) {
+            return 1;
+        }
+        int i = segmentOf(values, value);
+        return fractions[i] + (fractions[i + 1] - fractions[i]) * (value - values[i]) / (values[i + 1] - values[i]);
+    }
+
+    @Override
+    public double toValue(double fraction) {
+        if (fraction <= 0) {
+            return values[0];
+        }
+        if (fraction >= 1) {
+            return values[values.length - 1];
+        }
+        int i = segmentOf(fractions, fraction);
+        return values[i] + (values[i + 1] - values[i]) * (fraction - fractions[i]) / (fractions[i + 1] - fractions[i]);
+    }
+
+    /**
+     * 最后一个不大于value的控制点，调用前保证value在首尾控制点之间
+     */
+    private static int segmentOf(long[] points, long value) {
+        int low = 0;
+        int high = points.length - 2;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (points[mid] <= value) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    private static int segmentOf(double[] points, double value) {
+        int low = 0;
+        int high = points.length - 2;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (points[mid] <= value) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,322 @@
+package com.example.seekbar.view;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 不依赖View的范围选择，包含边界限制和相邻指示器的最小距离限制
+ * <p>
+ * 状态保存在不可变的{@link Range}中，每次修改都基于当前状态创建新的Range，通过compareAndSet替换，不加锁
+ * 可以在任意线程修改和读取，读取到的Range不会再变化
+ * 只需要计算结果时直接使用Range的方法，不修改RangeSelector，例如在多个线程中并行计算不同的投影
+ * 排列规则与{@link ThumbConstraints}相同
+ * <p>
+ * 拖动时的像素限制在{@link ThumbTrack}中完成，不经过这里，只在手势结束等时机通过{@link #publish}发布结果
+ */
+public final class RangeSelector {
+    private final AtomicReference<Range> state;
+
+    /**
+     * 第一个指示器在最小值，最后一个指示器在最大值，中间的指示器平均分布
+     *
+     * @throws IllegalArgumentException 最小值不小于最大值、指示器少于2个或者distance小于0时抛出
+     */
+    public RangeSelector(long min, long max, long distance, int thumbCount) {
+        state = new AtomicReference<>(Range.of(min, max, distance, thumbCount));
+    }
+
+    /**
+     * 当前状态，可以在任意线程读取
+     */
+    public Range snapshot() {
+        return state.get();
+    }
+
+    /**
+     * 移动第一个指示器，见{@link Range#move(int, long)}
+     */
+    public Range moveLeft(long value) {
+        return move(0, value);
+    }
+
+    /**
+     * 移动最后一个指示器，见{@link Range#move(int, long)}
+     */
+    public Range moveRight(long value) {
+        while (true) {
+            // 指示器的个数可能同时被修改，每次重试都重新取最后一个
+            Range current = state.get();
+            Range next = current.move(current.getThumbCount() - 1, value);
+            if (next == current || state.compareAndSet(current, next)) {
+                return next;
+            }
+        }
+    }
+
+    /**
+     * 移动第index个指示器，见{@link Range#move(int, long)}
+     */
+    public Range move(int index, long value) {
+        while (true) {
+            Range current = state.get();
+            Range next = current.move(index, value);
+            if (next == current || state.compareAndSet(current, next)) {
+                return next;
+            }
+        }
+    }
+
+    /**
+     * 设置所有指示器的进度值，见{@link Range#withValues(long...)}
+     */
+    public Range setValues(long... values) {
+        while (true) {
+            Range current = state.get();
+            Range next = current.withValues(values);
+            if (next == current || state.compareAndSet(current, next)) {
+                return next;
+            }
+        }
+    }
+
+    /**
+     * 设置最小值和最大值，见{@link Range#withRange(long, long)}
+     */
+    public Range setRange(long min, long max) {
+        while (true) {
+            Range current = state.get();
+            Range next = current.withRange(min, max);
+            if (next == current || state.compareAndSet(current, next)) {
+                return next;
+            }
+        }
+    }
+
+    /**
+     * 设置相邻指示器的最小距离，见{@link Range#withDistance(long)}
+     */
+    public Range setDistance(long distance) {
+        while (true) {
+            Range current = state.get();
+            Range next = current.withDistance(distance);
+            if (next == current || state.compareAndSet(current, next)) {
+                return next;
+            }
+        }
+    }
+
+    /**
+     * 直接替换为给定的状态，不按照排列规则调整进度值
+     * 用于发布已经在别处限制过的进度值，例如{@link ThumbTrack}拖动后显示的进度值，发布的与显示的始终一致
+     * 与当前状态相同时不创建新的Range
+     *
+     * @param values 会被复制
+     * @throws IllegalArgumentException 最小值不小于最大值、指示器少于2个或者distance小于0时抛出
+     */
+    public Range publish(long min, long max, long distance, long[] values) {
+        Range.check(min, max, distance, values.length);
+        while (true) {
+            Range current = state.get();
+            Range next = current.sameAs(min, max, distance, values)
+                    ? current : new Range(min, max, distance, values.clone());
+            if (next == current || state.compareAndSet(current, next)) {
+                return next;
+            }
+        }
+    }
+
+    /**
+     * 设置指示器的个数，所有指示器回到默认位置
+     */
+    public Range setThumbCount(int thumbCount) {
+        while (true) {
+            Range current = state.get();
+            Range next = current.getThumbCount() == thumbCount
+                    ? current : Range.of(current.min, current.max, current.distance, thumbCount);
+            if (next == current || state.compareAndSet(current, next)) {
+                return next;
+            }
+        }
+    }
+
+    /**
+     * 不可变的范围状态
+     * 所有修改方法都返回新的Range，没有变化时返回自身
+     */
+    public static final class Range {
+        private final long min;
+        private final long max;
+        private final long distance;
+        private final long[] values;
+
+        private Range(long min, long max, long distance, long[] values) {
+            this.min = min;
+            this.max = max;
+            this.distance = distance;
+            this.values = values;
+        }
+
+        /**
+         * 第一个指示器在最小值，最后一个指示器在最大值，中间的指示器平均分布
+         * 放不下所有指示器时只限制在最小值和最大值之间
+         *
+         * @throws IllegalArgumentException 最小值不小于最大值、指示器少于2个或者distance小于0时抛出
+         */
+        public static Range of(long min, long max, long distance, int thumbCount) {
+            check(min, max, distance, thumbCount);
+            long[] values = new long[thumbCount];
+            int last = thumbCount - 1;
+            for (int i = 0; i <= last; i++) {
+                values[i] = min + (long) ((double) (max - min) * i / last);
+            }
+            return new Range(min, max, distance, arrange(values, distance, min, max));
+        }
+
+        private static void check(long min, long max, long distance, int thumbCount) {
+            if (min >= max) {
+                throw new IllegalArgumentException("SeekBarView min is must less than max");
+            }
+            if (thumbCount < 2) {
+                throw new IllegalArgumentException("SeekBarView thumb count is must not less 2");
+            }
+            if (distance < 0) {
+                throw new IllegalArgumentException("SeekBarView distance is must not less 0");
+            }
+        }
+
+        private boolean sameAs(long min, long max, long distance, long[] values) {
+            return min == this.min && max == this.max && distance == this.distance
+                    && Arrays.equals(values, this.values);
+        }
+
+        /**
+         * 把第index个指示器移动到value
+         * 超出最小值、最大值或者离相邻的指示器小于distance时停在边界上，相邻的指示器不会被推动
+         */
+        public Range move(int index, long value) {
+            long clamped = clamp(index, value);
+            if (clamped == values[index]) {
+                return this;
+            }
+            long[] next = values.clone();
+            next[index] = clamped;
+            return new Range(min, max, distance, next);
+        }
+
+        /**
+         * 第index个指示器移动到value时实际停留的进度值，不创建新的Range
+         * 被相邻的指示器挡住时返回相邻的指示器加减distance，放不下时保持原来的进度值
+         */
+        public long clamp(int index, long value) {
+            long lower = index > 0 ? Math.max(min, values[index - 1] + distance) : min;
+            long upper = index < values.length - 1 ? Math.min(max, values[index + 1] - distance) : max;
+            if (lower > upper) {
+                return values[index];
+            }
+            return Math.max(lower, Math.min(upper, value));
+        }
+
+        /**
+         * 设置所有指示器的进度值，调整方式见{@link ThumbConstraints#solve}
+         * 放不下所有指示器时只限制在最小值和最大值之间
+         *
+         * @param values 个数必须与指示器的个数相同
+         * @throws IllegalArgumentException 个数不同时抛出
+         */
+        public Range withValues(long... values) {
+            if (values == null || values.length != this.values.length) {
+                throw new IllegalArgumentException("SeekBarView thumb values is must same size with thumbs");
+            }
+            if (Arrays.equals(values, this.values)) {
+                return this;
+            }
+            long[] next = arrange(values, distance, min, max);
+            if (Arrays.equals(next, this.values)) {
+                return this;
+            }
+            return new Range(min, max, distance, next);
+        }
+
+        /**
+         * 设置最小值和最大值，进度值按照排列规则调整
+         * 新的范围放不下所有指示器时只限制在最小值和最大值之间
+         *
+         * @throws IllegalArgumentException 最小值不小于最大值时抛出
+         */
+        public Range withRange(long min, long max) {
+            if (min >= max) {
+                throw new IllegalArgumentException("SeekBarView min is must less than max");
+            }
+            if (min == this.min && max == this.max) {
+                return this;
+            }
+            return new Range(min, max, distance, arrange(values, distance, min, max));
+        }
+
+        /**
+         * 设置相邻指示器的最小距离，进度值按照排列规则调整
+         * 放不下所有指示器时只限制在最小值和最大值之间
+         *
+         * @throws IllegalArgumentException distance小于0时抛出
+         */
+        public Range withDistance(long distance) {
+            if (distance < 0) {
+                throw new IllegalArgumentException("SeekBarView distance is must not less 0");
+            }
+            if (distance == this.distance) {
+                return this;
+            }
+            return new Range(min, max, distance, arrange(values, distance, min, max));
+        }
+
+        /**
+         * 按照排列规则调整进度值的副本
+         */
+        private static long[] arrange(long[] values, long distance, long min, long max) {
+            long[] next = values.clone();
+            ThumbConstraints.arrange(next, distance, min, max);
+            return next;
+        }
+
+        public long getMin() {
+            return min;
+        }
+
+        public long getMax() {
+            return max;
+        }
+
+        public long getDistance() {
+            return distance;
+        }
+
+        public int getThumbCount() {
+            return values.length;
+        }
+
+        public long getValue(int index) {
+            return values[index];
+        }
+
+        public long getLeft() {
+            return values[0];
+        }
+
+        public long getRight() {
+            return values[values.length - 1];
+        }
+
+        /**
+         * 复制所有进度值到out的开头
+         */
+        public void copyValues(long[] out) {
+            System.arraycopy(values, 0, out, 0, values.length);
+        }
+
+        @Override
+        public String toString() {
+            return "Range{min=" + min + ", max=" + max + ", distance=" + distance
+                    + ", values=" + Arrays.toString(values) + '}';
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.seekbar.view;
+
+/**
+ * 刻度值与进度条位置之间的映射
+ * <p>
+ * 位置用0到1之间的比例表示，0为进度条起点，1为进度条终点，与进度条的宽度无关
+ * 实现类应该是不可变的，可以在多个SeekBarView之间共享
+ */
+public interface ScaleMapping {
+
+    long getMinValue();
+
+    long getMaxValue();
+
+    /**
+     * 刻度值对应的位置比例
+     *
+     * @param value 在最小值和最大值之间的刻度值
+     * @return 0到1之间的比例
+     */
+    double toFraction(long value);
+
+    /**
+     * 位置比例对应的刻度值，不取整，由ScaleModel四舍五入
+     *
+     * @param fraction 0到1之间的比例
+     */
+    double toValue(double fraction);
+}
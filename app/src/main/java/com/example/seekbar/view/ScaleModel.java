@@ -0,0 +1,374 @@
+package com.example.seekbar.view;
+
+/**
+ * 刻度模型，负责刻度值与px值之间的换算
+ * <p>
+ * 可变刻度在setSpacing时预先计算前缀和，换算时二分查找，复杂度O(log n)
+ * <p>
+ * 默认与原有的int坐标一致：进度条宽度取整，px值和刻度值都截断为整数
+ * 一个刻度的长度不取整，刻度比像素多时也能换算
+ * 开启精确模式后坐标保留小数，刻度值四舍五入，刻度值与px值来回换算不会产生误差，
+ * 刻度值为long，可以表示时间戳这样很大的范围
+ * <p>
+ * 设置{@link ScaleMapping}后按照映射换算，对数、自定义曲线等非线性刻度每次换算的复杂度只与映射有关，
+ * 刻度线在进度条上等距分布
+ */
+public class ScaleModel {
+    private long minValue;
+    private long maxValue;
+    private long spacingValue; // 平均刻度
+    private long[] spacings; // 每个间距的集合
+    private long[] prefixSums; // 前缀和，prefixSums[i]为第i个刻度的值，prefixSums[0]为最小值
+    private ScaleMapping mapping; // 非线性刻度的映射
+    private int mappingSpaceCount; // 非线性刻度的刻度间隔个数
+    private float startPx; // 进度条起点的x坐标
+    private float lastWidth; // 进度条的宽度
+    private double oneSpace; // 一个刻度的长度，非精确模式下为取整后的宽度除以刻度个数
+    private boolean precise; // 是否为精确模式
+
+    public ScaleModel(long minValue, long maxValue, long spacingValue) {
+        setRange(minValue, maxValue, spacingValue);
+    }
+
+    /**
+     * 设置平均刻度
+     */
+    public void setRange(long minValue, long maxValue, long spacingValue) {
+        checkRange(minValue, maxValue, spacingValue);
+        this.minValue = minValue;
+        this.maxValue = maxValue;
+        this.spacingValue = spacingValue;
+        this.spacings = null;
+        this.prefixSums = null;
+        this.mapping = null;
+        updateOneSpace();
+    }
+
+    /**
+     * 设置非线性刻度
+     *
+     * @param mapping    刻度值与位置的映射
+     * @param spaceCount 刻度间隔的个数，刻度线等距分布，刻度值由映射计算
+     */
+    public void setMapping(ScaleMapping mapping, int spaceCount) {
+        checkMapping(mapping, spaceCount);
+        this.minValue = mapping.getMinValue();
+        this.maxValue = mapping.getMaxValue();
+        this.spacings = null;
+        this.prefixSums = null;
+        this.mapping = mapping;
+        this.mappingSpaceCount = spaceCount;
+        updateOneSpace();
+    }
+
+    public ScaleMapping getMapping() {
+        return mapping;
+    }
+
+    /**
+     * 设置每个可变长度的间距值
+     * 最大值为当前间距和加上最小值
+     */
+    public void setSpacing(int min, int... spacings) {
+        long[] copy = null;
+        if (spacings != null) {
+            copy = new long[spacings.length];
+            for (int i = 0; i < spacings.length; i++) {
+                copy[i] = spacings[i];
+            }
+        }
+        setSpacing(copy, prefixSums(min, copy));
+    }
+
+    public void setSpacing(long min, long... spacings) {
+        long[] copy = spacings == null ? null : spacings.clone();
+        setSpacing(copy, prefixSums(min, copy));
+    }
+
+    /**
+     * 使用已经计算好的前缀和，数组不会被复制，调用方不能再修改
+     */
+    void setSpacing(long[] spacings, long[] prefixSums) {
+        this.minValue = prefixSums[0];
+        this.maxValue = prefixSums[spacings.length];
+        this.spacings = spacings;
+        this.prefixSums = prefixSums;
+        this.mapping = null;
+        updateOneSpace();
+    }
+
+    /**
+     * 校验平均刻度的参数
+     *
+     * @throws IllegalArgumentException 最大值不大于最小值，或者间距不在0到最大值减最小值之间时抛出
+     */
+    static void checkRange(long minValue, long maxValue, long spacingValue) {
+        if (maxValue <= minValue) {
+            throw new IllegalArgumentException("SeekBarView max is must big min value!");
+        }
+        if (spacingValue <= 0 || spacingValue > maxValue - minValue) {
+            throw new IllegalArgumentException("SeekBarView spacing is must min max-min value");
+        }
+    }
+
+    /**
+     * 校验非线性刻度的参数
+     *
+     * @throws IllegalArgumentException 映射为null或者刻度间隔个数不大于0时抛出
+     */
+    static void checkMapping(ScaleMapping mapping, int spaceCount) {
+        if (mapping == null) {
+            throw new IllegalArgumentException("SeekBarView scale mapping is must not null");
+        }
+        if (spaceCount <= 0) {
+            throw new IllegalArgumentException("SeekBarView space count is must big 0");
+        }
+    }
+
+    /**
+     * 计算可变刻度的前缀和
+     */
+    static long[] prefixSums(long min, long[] spacings) {
+        if (spacings == null || spacings.length == 0) {
+            throw new IllegalArgumentException("SeekBarView spacings is must not empty");
+        }
+        long[] sums = new long[spacings.length + 1];
+        sums[0] = min;
+        for (int i = 0; i < spacings.length; i++) {
+            if (spacings[i] <= 0) {
+                throw new IllegalArgumentException("SeekBarView spacing is must big 0");
+            }
+            sums[i + 1] = sums[i] + spacings[i];
+        }
+        return sums;
+    }
+
+    /**
+     * 设置进度条在view中的位置
+     *
+     * @param startPx 进度条起点的x坐标
+     * @param width   进度条的宽度
+     */
+    public void setBounds(float startPx, float width) {
+        this.startPx = startPx;
+        this.lastWidth = width;
+        updateOneSpace();
+    }
+
+    /**
+     * 设置是否为精确模式
+     */
+    public void setPrecise(boolean precise) {
+        this.precise = precise;
+        updateOneSpace();
+    }
+
+    public boolean isPrecise() {
+        return precise;
+    }
+
+    private void updateOneSpace() {
+        int count = getSpaceCount();
+        if (count <= 0 || lastWidth <= 0) {
+            oneSpace = 0;
+        } else if (precise) {
+            oneSpace = (double) lastWidth / count;
+        } else {
+            oneSpace = (double) (int) lastWidth / count;
+        }
+    }
+
+    /**
+     * 是否为可变刻度，非线性刻度也是可变刻度
+     */
+    public boolean isVariable() {
+        return spacings != null || mapping != null;
+    }
+
+    /**
+     * 刻度间隔的个数
+     */
+    public int getSpaceCount() {
+        if (spacings != null) {
+            return spacings.length;
+        }
+        if (mapping != null) {
+            return mappingSpaceCount;
+        }
+        return (int) Math.min((maxValue - minValue) / spacingValue, Integer.MAX_VALUE);
+    }
+
+    /**
+     * 第index个刻度线的x坐标
+     */
+    public float getTickPx(int index) {
+        if (prefixSums == null && mapping == null) {
+            // 平均刻度按照刻度值计算，避免oneSpace取整的累计误差
+            return (float) valueToPx(getTickValue(index));
+        }
+        if (precise) {
+            return (float) (startPx + index * oneSpace);
+        }
+        return (int) (index * oneSpace) + (int) startPx;
+    }
+
+    /**
+     * 第index个刻度线对应的刻度值
+     */
+    public long getTickValue(int index) {
+        if (prefixSums != null) {
+            return prefixSums[index];
+        }
+        if (mapping != null) {
+            return Math.round(mapping.toValue((double) index / mappingSpaceCount));
+        }
+        return minValue + spacingValue * index;
+    }
+
+    /**
+     * 计算px值对应的刻度值
+     * 精确模式下使用double计算，毫秒时间戳这样跨度很大的范围也可以准确往返
+     */
+    public long pxToValue(double x) {
+        if (lastWidth <= 0) {
+            return minValue;
+        }
+        if (mapping != null) {
+            // 非线性刻度没有需要保持一致的旧算法，始终四舍五入，避免exp等运算的误差被截断
+            return Math.round(mapping.toValue(clampFraction((x - startPx) / lastWidth)));
+        }
+        if (precise) {
+            return precisePxToValue(x);
+        }
+        int offset = (int) x - (int) startPx;
+        if (prefixSums == null) {
+            float ratio = (float) offset / (float) (int) lastWidth;
+            return minValue + (long) (ratio * (maxValue - minValue));
+        }
+        if (oneSpace <= 0) {
+            return minValue;
+        }
+        // 计算出当前滑动到第几个刻度上
+        int index = clampIndex((int) Math.floor(offset / oneSpace));
+        // 如果index等于spacings的长度，说明是最大刻度值
+        long result = prefixSums[index];
+        if (index < spacings.length) {
+            double currentX = offset - index * oneSpace;
+            result += (long) (currentX / oneSpace * spacings[index]);
+        }
+        return result;
+    }
+
+    private long precisePxToValue(double x) {
+        double offset = x - startPx;
+        if (prefixSums == null) {
+            return minValue + Math.round(offset / lastWidth * (maxValue - minValue));
+        }
+        if (oneSpace <= 0) {
+            return minValue;
+        }
+        int index = clampIndex((int) Math.floor(offset / oneSpace));
+        long result = prefixSums[index];
+        if (index < spacings.length) {
+            result += Math.round((offset / oneSpace - index) * spacings[index]);
+        }
+        return result;
+    }
+
+    private static double clampFraction(double fraction) {
+        if (fraction < 0) {
+            return 0;
+        }
+        return Math.min(fraction, 1);
+    }
+
+    private int clampIndex(int index) {
+        if (index < 0) {
+            return 0;
+        }
+        return Math.min(index, spacings.length);
+    }
+
+    /**
+     * 计算刻度值对应的px值
+     * 返回double，float只有24位有效数字，在上千像素的进度条上放不下相邻两个毫秒时间戳的差别
+     */
+    public double valueToPx(long value) {
+        if (mapping != null) {
+            double px = startPx + clampFraction(mapping.toFraction(value)) * lastWidth;
+            // 非精确模式先转成float再截断，与原来的float坐标结果一致，exp等运算的误差不会让整数坐标少1
+            return precise ? px : (int) (float) px;
+        }
+        if (prefixSums == null) {
+            if (precise) {
+                double ratio = (double) (value - minValue) / (double) (maxValue - minValue);
+                return ratio * lastWidth + startPx;
+            }
+            float ratio = (float) (value - minValue) / (float) (maxValue - minValue);
+            return (int) (ratio * (int) lastWidth + (int) startPx);
+        }
+        int position = getSpaceIndex(value);
+        long last = value - prefixSums[position];
+        if (precise) {
+            return startPx + (position + (double) last / spacings[position]) * oneSpace;
+        }
+        return (int) (position * oneSpace + (double) last / spacings[position] * oneSpace) + (int) startPx;
+    }
+
+    /**
+     * 获取可变长度刻度当前所在的刻度间隔
+     * 即第一个满足刻度值不大于其右侧刻度的间隔，二分查找
+     */
+    public int getSpaceIndex(long value) {
+        int low = 0;
+        int high = spacings.length - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (prefixSums[mid + 1] >= value) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * 平均刻度时distance对应的px值
+     * 非精确模式下截断为整数，distance大于0时至少为1像素，刻度比像素密时相邻的指示器也不会重合
+     */
+    public double distanceToPx(long distance) {
+        double px = (double) distance / (maxValue - minValue) * (precise ? lastWidth : (int) lastWidth);
+        if (precise) {
+            return px;
+        }
+        if (distance > 0 && px < 1) {
+            return 1;
+        }
+        return (int) px;
+    }
+
+    public long getMinValue() {
+        return minValue;
+    }
+
+    public long getMaxValue() {
+        return maxValue;
+    }
+
+    public long getSpacingValue() {
+        return spacingValue;
+    }
+
+    public float getStartPx() {
+        return startPx;
+    }
+
+    public float getWidth() {
+        return lastWidth;
+    }
+
+    public float getOneSpace() {
+        return (float) oneSpace;
+    }
+}
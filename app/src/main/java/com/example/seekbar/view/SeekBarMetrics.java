@@ -0,0 +1,165 @@
+package com.example.seekbar.view;
+
+import java.util.Arrays;
+
+/**
+ * SeekBarView热路径的耗时和次数统计
+ * <p>
+ * 耗时按照2的n次方微秒分桶，所有计数都保存在创建时分配好的long数组中，记录时不分配内存
+ * 只在主线程记录和读取，需要在其它线程使用时通过{@link #snapshot()}复制一份
+ * 统计只能由SeekBarView记录，外部只能读取和重置
+ */
+public class SeekBarMetrics {
+    public static final int TIMER_DRAW = 0; // onDraw的耗时
+    public static final int TIMER_TOUCH_TO_DISPATCH = 1; // 从触摸事件到回调进度的延迟
+    public static final int TIMER_LISTENER = 2; // 监听回调的耗时
+    public static final int TIMER_COUNT = 3;
+    // 第0个桶小于1微秒，第i个桶为[2^(i-1), 2^i)微秒，最后一个桶包含所有不小于2^14微秒（约16ms）的耗时
+    public static final int BUCKET_COUNT = 16;
+
+    private final long[] histogram = new long[TIMER_COUNT * BUCKET_COUNT];
+    private final long[] counts = new long[TIMER_COUNT];
+    private final long[] totalNanos = new long[TIMER_COUNT];
+    private final long[] maxNanos = new long[TIMER_COUNT];
+    private long invalidations; // 局部刷新的次数
+    private long coalescedUpdates; // 被合并或者进度值没有变化而没有回调的onUpdate次数
+    private long droppedUpdates; // 手势结束或取消时丢弃的未回调的onUpdate次数
+    private long gestures; // 结束的手势个数
+
+    /**
+     * 记录一次耗时
+     *
+     * @param timer {@link #TIMER_DRAW}、{@link #TIMER_TOUCH_TO_DISPATCH}或{@link #TIMER_LISTENER}
+     * @param nanos 耗时，单位ns
+     */
+    void record(int timer, long nanos) {
+        if (nanos < 0) {
+            nanos = 0;
+        }
+        histogram[timer * BUCKET_COUNT + bucketOf(nanos)]++;
+        counts[timer]++;
+        totalNanos[timer] += nanos;
+        if (nanos > maxNanos[timer]) {
+            maxNanos[timer] = nanos;
+        }
+    }
+
+    void countInvalidation() {
+        invalidations++;
+    }
+
+    void countCoalescedUpdate() {
+        coalescedUpdates++;
+    }
+
+    void countDroppedUpdate() {
+        droppedUpdates++;
+    }
+
+    void countGesture() {
+        gestures++;
+    }
+
+    /**
+     * 耗时所在的桶
+     */
+    static int bucketOf(long nanos) {
+        long micros = nanos / 1000;
+        if (micros == 0) {
+            return 0;
+        }
+        int bucket = 64 - Long.numberOfLeadingZeros(micros);
+        return Math.min(bucket, BUCKET_COUNT - 1);
+    }
+
+    /**
+     * 第bucket个桶的上限，单位微秒，最后一个桶没有上限，返回Long.MAX_VALUE
+     */
+    public static long getBucketUpperMicros(int bucket) {
+        if (bucket >= BUCKET_COUNT - 1) {
+            return Long.MAX_VALUE;
+        }
+        return 1L << bucket;
+    }
+
+    public long getBucket(int timer, int bucket) {
+        return histogram[timer * BUCKET_COUNT + bucket];
+    }
+
+    public long getCount(int timer) {
+        return counts[timer];
+    }
+
+    public long getTotalNanos(int timer) {
+        return totalNanos[timer];
+    }
+
+    public long getMaxNanos(int timer) {
+        return maxNanos[timer];
+    }
+
+    /**
+     * 百分位耗时的上限，取百分位所在桶的上限，单位微秒
+     *
+     * @param percentile 0到100之间
+     * @return 没有记录时返回0
+     */
+    public long getPercentileMicros(int timer, double percentile) {
+        long count = counts[timer];
+        if (count == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(count * Math.min(Math.max(percentile, 0), 100) / 100);
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += histogram[timer * BUCKET_COUNT + i];
+            if (seen >= rank && seen > 0) {
+                return getBucketUpperMicros(i);
+            }
+        }
+        return getBucketUpperMicros(BUCKET_COUNT - 1);
+    }
+
+    public long getInvalidations() {
+        return invalidations;
+    }
+
+    public long getCoalescedUpdates() {
+        return coalescedUpdates;
+    }
+
+    public long getDroppedUpdates() {
+        return droppedUpdates;
+    }
+
+    public long getGestures() {
+        return gestures;
+    }
+
+    /**
+     * 复制当前的统计，复制后的统计不再变化
+     */
+    public SeekBarMetrics snapshot() {
+        SeekBarMetrics copy = new SeekBarMetrics();
+        System.arraycopy(histogram, 0, copy.histogram, 0, histogram.length);
+        System.arraycopy(counts, 0, copy.counts, 0, counts.length);
+        System.arraycopy(totalNanos, 0, copy.totalNanos, 0, totalNanos.length);
+        System.arraycopy(maxNanos, 0, copy.maxNanos, 0, maxNanos.length);
+        copy.invalidations = invalidations;
+        copy.coalescedUpdates = coalescedUpdates;
+        copy.droppedUpdates = droppedUpdates;
+        copy.gestures = gestures;
+        return copy;
+    }
+
+    public void reset() {
+        Arrays.fill(histogram, 0);
+        Arrays.fill(counts, 0);
+        Arrays.fill(totalNanos, 0);
+        Arrays.fill(maxNanos, 0);
+        invalidations = 0;
+        coalescedUpdates = 0;
+        droppedUpdates = 0;
+        gestures = 0;
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.seekbar.view;
+
+/**
+ * 不可变的进度条状态，包含刻度、左右进度值和左右指示器的最小间距
+ * <p>
+ * 可以在多个列表项之间共享，withRange和withDistance创建的新状态共用已经计算好的刻度数据
+ * 同一个刻度再次绑定到SeekBarView时不需要重新计算刻度，只需要重绘
+ */
+public final class SeekBarState {
+    final Scale scale;
+    private final long left;
+    private final long right;
+    private final long distance;
+
+    private SeekBarState(Scale scale, long left, long right, long distance) {
+        this.scale = scale;
+        this.left = left;
+        this.right = right;
+        this.distance = distance;
+    }
+
+    /**
+     * 平均刻度，左右进度值默认为最小值和最大值，左右指示器的最小间距默认为0
+     */
+    public static SeekBarState ofRange(long min, long max, long spacingValue) {
+        ScaleModel.checkRange(min, max, spacingValue);
+        return new SeekBarState(new Scale(min, max, spacingValue, null, null, null, 0), min, max, 0);
+    }
+
+    /**
+     * 可变刻度，最大值为间距和加上最小值，左右进度值默认为最小值和最大值，左右指示器的最小间距默认为0
+     */
+    public static SeekBarState ofSpacing(int min, int... spacings) {
+        long[] copy = null;
+        if (spacings != null) {
+            copy = new long[spacings.length];
+            for (int i = 0; i < spacings.length; i++) {
+                copy[i] = spacings[i];
+            }
+        }
+        return ofSpacingCopy(min, copy);
+    }
+
+    /**
+     * 可变刻度，与{@link #ofSpacing(int, int...)}相同，刻度值可以超过int的范围，例如毫秒时间戳
+     */
+    public static SeekBarState ofSpacing(long min, long... spacings) {
+        return ofSpacingCopy(min, spacings == null ? null : spacings.clone());
+    }
+
+    private static SeekBarState ofSpacingCopy(long min, long[] spacings) {
+        long[] prefixSums = ScaleModel.prefixSums(min, spacings);
+        long max = prefixSums[prefixSums.length - 1];
+        return new SeekBarState(new Scale(min, max, 0, spacings, prefixSums, null, 0), min, max, 0);
+    }
+
+    /**
+     * 非线性刻度，左右进度值默认为最小值和最大值，左右指示器的最小间距默认为0
+     *
+     * @param spaceCount 刻度间隔的个数
+     */
+    public static SeekBarState ofMapping(ScaleMapping mapping, int spaceCount) {
+        ScaleModel.checkMapping(mapping, spaceCount);
+        long min = mapping.getMinValue();
+        long max = mapping.getMaxValue();
+        return new SeekBarState(new Scale(min, max, 0, null, null, mapping, spaceCount), min, max, 0);
+    }
+
+    public SeekBarState withRange(long left, long right) {
+        return new SeekBarState(scale, left, right, distance);
+    }
+
+    public SeekBarState withDistance(long distance) {
+        return new SeekBarState(scale, left, right, distance);
+    }
+
+    public long getMinValue() {
+        return scale.minValue;
+    }
+
+    public long getMaxValue() {
+        return scale.maxValue;
+    }
+
+    public long getLeft() {
+        return left;
+    }
+
+    public long getRight() {
+        return right;
+    }
+
+    public long getDistance() {
+        return distance;
+    }
+
+    /**
+     * 是否与另一个状态共用同一个刻度
+     */
+    public boolean hasSameScale(SeekBarState other) {
+        return other != null && other.scale == scale;
+    }
+
+    /**
+     * 预先计算好的刻度数据，创建后不再修改
+     */
+    static final class Scale {
+        final long minValue;
+        final long maxValue;
+        final long spacingValue;
+        final long[] spacings;
+        final long[] prefixSums;
+        final ScaleMapping mapping;
+        final int mappingSpaceCount;
+
+        Scale(long minValue, long maxValue, long spacingValue, long[] spacings, long[] prefixSums,
+              ScaleMapping mapping, int mappingSpaceCount) {
+            this.minValue = minValue;
+            this.maxValue = maxValue;
+            this.spacingValue = spacingValue;
+            this.spacings = spacings;
+            this.prefixSums = prefixSums;
+            this.mapping = mapping;
+            this.mappingSpaceCount = mappingSpaceCount;
+        }
+
+        void applyTo(ScaleModel model) {
+            if (mapping != null) {
+                model.setMapping(mapping, mappingSpaceCount);
+            } else if (spacings == null) {
+                model.setRange(minValue, maxValue, spacingValue);
+            } else {
+                model.setSpacing(spacings, prefixSums);
+            }
+        }
+    }
+}
@@ -4,24 +4,32 @@ import android.animation.ValueAnimator;
 import android.content.Context;
 import android.content.res.TypedArray;
 import android.graphics.Bitmap;
-import android.graphics.BitmapFactory;
 import android.graphics.Canvas;
 import android.graphics.Color;
-import android.graphics.Matrix;
 import android.graphics.Paint;
 import android.graphics.RectF;
-import android.text.TextUtils;
+import android.os.Build;
+import android.os.SystemClock;
+import android.support.v4.view.ViewCompat;
 import android.util.AttributeSet;
 import android.util.Log;
 import android.view.MotionEvent;
+import android.view.VelocityTracker;
 import android.view.View;
+import android.view.ViewConfiguration;
+import android.widget.OverScroller;
 
 import com.example.seekbar.R;
 
+import java.util.Arrays;
+
 /**
  * 可变刻度进度条
  */
 public class SeekBarView extends View {
+    public static final int DISPATCH_MODE_IMMEDIATE = 0; // 每次滑动立即回调
+    public static final int DISPATCH_MODE_FRAME = 1; // 同一帧内的滑动合并为一次回调
+
     private static final int MIN = 0;
     private static final int MAX = 100;
     private static final int DEFAULT_SPACING = 10;
@@ -33,76 +41,183 @@ public class SeekBarView extends View {
     private static final int DEFAULT_PADDING_SPACING = 40; // 默认左右的padding值
     private static final int DEFAULT_SPACE_HEIGHT = 20; // 默认刻度线的高度
     private static final int DEFAULT_LEFT_RIGHT_SPACE = 5; // 默认左右指示器的间距
-    private static final int CLICK_TYPE_LEFT = 0; // 点击左侧指示器
-    private static final int CLICK_TYPE_RIGHT = 1; // 点击右侧指示器
-    private static final int CLICK_TYPE_OUT = 2; // 点击外部区域
+    private static final int DEFAULT_TEXT_SIZE = 20; // 默认刻度文字大小
+    private static final int DEFAULT_SPACE_WIDTH = 2; // 默认刻度线的宽度
+    private static final int DEFAULT_MIN_TICK_PITCH = 8; // 刻度线之间的最小像素间距
+    private static final int DEFAULT_LABEL_GAP = 8; // 刻度值之间的最小留白
+    private static final int DIRTY_MARGIN = 2; // 局部刷新时多刷新的像素，包含抗锯齿的边缘
+    private static final int SETTLE_DURATION = 150; // 手指离开后吸附到刻度的动画时长，单位ms
+    private static final int DEFAULT_ANIMATE_DURATION = 200; // 默认的进度动画时长，单位ms
+    private static final int INDICATOR_STYLE_BITMAP = 0; // 图片指示器
+    private static final int INDICATOR_STYLE_ARROW = 1; // Path画的箭头指示器
+    private static final int DEFAULT_THUMB_COUNT = 2; // 默认左右两个指示器
+    private static final int NO_THUMB = -1; // 没有点击到指示器
+    private static final long UNSET_VALUE = Long.MIN_VALUE; // 指示器没有设置进度值，0和负数都是合法的进度值
 
-    private int minValue;
-    private int maxValue;
-    private int spacingValue; // 平均刻度
     private int seekBarY = 0; // 进度条的y坐标
     private int upWareY = 0; // 向上箭头的y坐标
     private int downWareY = 0; // 向下箭头的y坐标
     private int showTextY = 0; // 显示进度的y坐标
-    // 实际更新的值，根据两个的坐标刷新布局
-    private int leftWareX = 0; // 左边向上箭头的x坐标
-    private int rightWareX = 0; // 右边向下箭头的x坐标
-    private int clickType = CLICK_TYPE_LEFT; // 手指落下在哪个箭头上，0：left，1：right, 2：outer
+    // 实际更新的值，根据指示器的坐标刷新布局
+    // 指示器从左到右排列，偶数位置为向上的指示器，奇数位置为向下的指示器，默认只有左右两个
+    private long[] thumbValues = unsetValues(DEFAULT_THUMB_COUNT); // 设置或拖动后的进度值，没有设置时按照位置平均分布
+    private int activeThumb = NO_THUMB; // 手指落下在哪个指示器上
     private boolean isUpdate; // 手指是否离开屏幕，true：在屏幕上，false：离开
-    private int[] spacings; // 每个间距的集合
-    private int lastWidth; // 除去两边间距后剩余的宽度
-    private int oneSpace; // 一个刻度的长度
-    private int left;
-    private int right;
-    private int distance; // 左右指示器的距离
-
-    private Paint paint;
+    private ScaleModel scaleModel; // 刻度值与px值的换算
+    private SeekBarState.Scale boundScale; // bind绑定的刻度，再次绑定同一个刻度时不需要重新计算
+    // 指示器的位置、边界和相邻指示器的最小距离限制，View只负责把触摸转换为位置和绘制，拖动时不分配内存
+    private ThumbTrack track;
+    // 发布给其它线程的范围状态，在手势结束、设置进度值或读取时发布显示的进度值，其它线程可以通过getRangeSnapshot读取
+    private RangeSelector rangeSelector;
+    private boolean rangeDirty; // 拖动后还没有发布
+    private long[] syncValues = new long[DEFAULT_THUMB_COUNT]; // 发布进度值时复用
+
+    // 每种图元使用各自的画笔，只在初始化和样式变化时配置
+    private final Paint trackPaint = new Paint(Paint.ANTI_ALIAS_FLAG); // 进度条背景
+    private final Paint progressPaint = new Paint(Paint.ANTI_ALIAS_FLAG); // 可变化的进度条
+    private final Paint spacePaint = new Paint(Paint.ANTI_ALIAS_FLAG); // 刻度线
+    private final Paint spaceTextPaint = new Paint(Paint.ANTI_ALIAS_FLAG); // 刻度值
+    private final Paint showTextPaint = new Paint(Paint.ANTI_ALIAS_FLAG); // 滑动时显示的进度值
+    private int trackColor = Color.GRAY;
+    private int progressColor = Color.RED;
+    private float textSize = DEFAULT_TEXT_SIZE;
+    private final RectF thumbRect = new RectF(); // 指示器的点击区域
+    private int touchTargetPadding; // 点击区域向四周扩大的像素
+    private boolean trackTapEnabled = true; // 点击进度条时最近的指示器是否跳到点击的位置
+    // 刻度过密时只画部分刻度，画出的刻度个数只与宽度有关
+    private final TickLayout tickLayout = new TickLayout();
+    private float maxLabelWidth; // 最宽的刻度值的宽度
+    // 刻度值只在刻度、字体或刻度间隔变化时计算一次，只保存需要画的刻度值
+    private long[] tickLabels;
+    private boolean labelsDirty = true;
+    private final char[] labelChars = new char[NumberChars.MAX_LENGTH]; // 画刻度值时复用
+    private final char[] showTextChars = new char[NumberChars.MAX_LENGTH]; // 滑动时显示的进度值
+    // 文字只有数字和负号，宽度由共享的数字宽度相加得到，不需要每次measureText
+    private DigitAdvances labelAdvances;
+    private DigitAdvances showTextAdvances;
+    // 进度条背景、刻度线和刻度值不随滑动变化，缓存到bitmap中，每帧只需要画一次bitmap
+    // bitmap在尺寸变化时分配，detach时保留，列表中反复attach不会重新分配
+    private boolean staticLayerEnabled = true;
+    private boolean staticLayerDirty = true;
+    private Bitmap staticLayer;
+    private Canvas staticCanvas;
+    private int staticLayerTop; // 静态图层在view中的y坐标，图层只覆盖刻度值到进度条底部的区域
+    // 滑动时只刷新指示器、进度值和进度条变化的区域
+    private final DirtyRegion dirtyRegion = new DirtyRegion();
+    private int showTextHalfWidth; // 滑动时显示的进度值最大宽度的一半
+    private long invalidatedArea; // 累计刷新的面积
+    // 回调的合并，进度值没有变化时不回调
+    private int dispatchMode = DISPATCH_MODE_IMMEDIATE;
+    private long updateInterval; // onUpdate的最小回调间隔，单位ms
+    private long lastUpdateTime; // 上一次onUpdate的时间
+    private long[] lastDispatchValues = new long[DEFAULT_THUMB_COUNT]; // 上一次回调的进度值
+    private int[] dispatchValues = new int[DEFAULT_THUMB_COUNT]; // 回调给多指示器监听的进度值，每次回调复用
+    private boolean updatePending; // 是否有未回调的进度
+    private boolean frameScheduled; // 是否已经在下一帧安排了回调
+    private boolean finalSampleOnly; // 一次滑动事件只回调最后一个触摸点
+    private final Runnable frameDispatcher = new Runnable() {
+        @Override
+        public void run() {
+            frameScheduled = false;
+            flushUpdate();
+        }
+    };
+
+    // 指示器的位置动画，用于吸附刻度和animateTo，只创建一次，新的动画从当前位置重新开始
+    private ValueAnimator positionAnimator;
+    private boolean positionAnimating; // 位置动画是否正在进行
+    private double[] animFromX = new double[DEFAULT_THUMB_COUNT];
+    private double[] animToX = new double[DEFAULT_THUMB_COUNT];
+
+    // 惯性滑动，手指离开后指示器按照离开时的速度减速滑动
+    private boolean flingEnabled;
+    private VelocityTracker velocityTracker;
+    private OverScroller flingScroller;
+    private boolean flinging; // 是否正在惯性滑动
+    private double flingOffset; // OverScroller只支持int坐标，记录小数部分
+    private int minFlingVelocity;
+    private int maxFlingVelocity;
+    private final Runnable flingRunnable = new Runnable() {
+        @Override
+        public void run() {
+            onFlingFrame();
+        }
+    };
 
-    private Bitmap upwardBitmap;
-    private Bitmap downwardBitmap;
+    private IndicatorRenderer upwardIndicator; // 左边向上的指示器
+    private IndicatorRenderer downwardIndicator; // 右边向下的指示器
 
     private SeekBarUpdateListener updateListener;
+    private SeekBarLongUpdateListener longUpdateListener;
+    private SeekBarMultiUpdateListener multiUpdateListener;
+
+    // 热路径的耗时和次数统计，默认关闭，关闭时每处只多一次判空
+    private SeekBarMetrics metrics;
+    private SeekBarMetricsListener metricsListener;
+    private long touchTimeNanos; // 最近一次触摸事件开始处理的时间，回调进度后清零
 
-    public SeekBarView(Context context) throws Exception {
+    /**
+     * 最大值、最小值或平均刻度不合法时抛出IllegalArgumentException
+     */
+    public SeekBarView(Context context) {
         this(context, null);
     }
 
-    public SeekBarView(Context context, AttributeSet attrs) throws Exception {
+    public SeekBarView(Context context, AttributeSet attrs) {
         this(context, attrs, 0);
     }
 
-    public SeekBarView(Context context, AttributeSet attrs, int defStyleAttr) throws Exception {
+    public SeekBarView(Context context, AttributeSet attrs, int defStyleAttr) {
         super(context, attrs, defStyleAttr);
         init(context, attrs);
     }
 
-    private void init(Context context, AttributeSet attrs) throws Exception {
+    private void init(Context context, AttributeSet attrs) {
         TypedArray a = context.obtainStyledAttributes(attrs, R.styleable.SeekBarView);
-        minValue = a.getInt(R.styleable.SeekBarView_min, MIN);
-        maxValue = a.getInt(R.styleable.SeekBarView_max, MAX);
-        if (maxValue <= minValue) {
-            throw new Exception("SeekBarView max is must big min value!");
-        }
-        spacingValue = a.getInt(R.styleable.SeekBarView_spacing, DEFAULT_SPACING);
-        if (spacingValue > maxValue - minValue) {
-            throw new Exception("SeekBarView spacing is must min max-min value");
-        }
+        int minValue = a.getInt(R.styleable.SeekBarView_min, MIN);
+        int maxValue = a.getInt(R.styleable.SeekBarView_max, MAX);
+        int spacingValue = a.getInt(R.styleable.SeekBarView_spacing, DEFAULT_SPACING);
+        scaleModel = new ScaleModel(minValue, maxValue, spacingValue);
         int leftImageRes = a.getResourceId(R.styleable.SeekBarView_leftImage, 0);
         int rightImageRes = a.getResourceId(R.styleable.SeekBarView_rightImage, 0);
-        distance = a.getInt(R.styleable.SeekBarView_leftDistanceRight, DEFAULT_LEFT_RIGHT_SPACE);
+        long distance = a.getInt(R.styleable.SeekBarView_leftDistanceRight, DEFAULT_LEFT_RIGHT_SPACE);
+        if (distance < 0) {
+            distance = DEFAULT_LEFT_RIGHT_SPACE;
+        }
+        track = new ThumbTrack(scaleModel, DEFAULT_THUMB_COUNT, distance);
+        rangeSelector = new RangeSelector(scaleModel.getMinValue(), scaleModel.getMaxValue(), distance, DEFAULT_THUMB_COUNT);
+        int indicatorStyle = a.getInt(R.styleable.SeekBarView_indicatorStyle, INDICATOR_STYLE_BITMAP);
+        scaleModel.setPrecise(a.getBoolean(R.styleable.SeekBarView_precisionMode, false));
+        track.setSnapToTick(a.getBoolean(R.styleable.SeekBarView_snapToTick, false));
+        flingEnabled = a.getBoolean(R.styleable.SeekBarView_flingEnabled, false);
+        int thumbCount = a.getInt(R.styleable.SeekBarView_thumbCount, DEFAULT_THUMB_COUNT);
+        // 默认按照系统的触摸误差扩大点击区域
+        touchTargetPadding = a.getDimensionPixelSize(R.styleable.SeekBarView_touchTargetPadding,
+                ViewConfiguration.get(context).getScaledTouchSlop());
         a.recycle();
 
-        paint = new Paint();
-        paint.setAntiAlias(true);
+        initPaints();
+
+        ViewConfiguration configuration = ViewConfiguration.get(context);
+        minFlingVelocity = configuration.getScaledMinimumFlingVelocity();
+        maxFlingVelocity = configuration.getScaledMaximumFlingVelocity();
 
-        if (leftImageRes <= 0) {
-            leftImageRes = R.mipmap.icon_upward;
+        if (indicatorStyle == INDICATOR_STYLE_ARROW) {
+            upwardIndicator = new PathIndicatorRenderer(true, progressColor, DEFAULT_INDICATOR_WIDTH, DEFAULT_INDICATOR_HEIGHT);
+            downwardIndicator = new PathIndicatorRenderer(false, progressColor, DEFAULT_INDICATOR_WIDTH, DEFAULT_INDICATOR_HEIGHT);
+        } else {
+            if (leftImageRes <= 0) {
+                leftImageRes = R.mipmap.icon_upward;
+            }
+            if (rightImageRes <= 0) {
+                rightImageRes = R.mipmap.icon_downward;
+            }
+            upwardIndicator = new BitmapIndicatorRenderer(getResources(), leftImageRes);
+            downwardIndicator = new BitmapIndicatorRenderer(getResources(), rightImageRes);
         }
-        if (rightImageRes <= 0) {
-            rightImageRes = R.mipmap.icon_downward;
+        if (thumbCount != DEFAULT_THUMB_COUNT) {
+            setThumbCount(thumbCount);
         }
-        upwardBitmap = BitmapFactory.decodeResource(getResources(), leftImageRes);
-        downwardBitmap = BitmapFactory.decodeResource(getResources(), rightImageRes);
     }
 
     @Override
@@ -121,7 +236,12 @@ public class SeekBarView extends View {
             width = widthSize;
         } else {
             // 如果是wrap_content，显示的宽度为最大值减去最小值除与间距值乘与默认间距像素
-            width = (maxValue - minValue) / spacingValue * DEFAULT_SPACING_PX;
+            long desired = (long) scaleModel.getSpaceCount() * DEFAULT_SPACING_PX;
+            if (widthMode == MeasureSpec.AT_MOST) {
+                // 刻度很多时不能超过父布局的宽度
+                desired = Math.min(desired, widthSize);
+            }
+            width = (int) Math.min(desired, Integer.MAX_VALUE);
         }
 
         if (heightMode == MeasureSpec.EXACTLY) {
@@ -131,21 +251,47 @@ public class SeekBarView extends View {
             height = DEFAULT_TEXT_HEIGHT + DEFAULT_SEEK_BAR_HEIGHT + DEFAULT_INDICATOR_HEIGHT * 2;
         }
 
+        setMeasuredDimension(width, height);
+    }
+
+    /**
+     * 尺寸确定后再计算各部分的坐标
+     * 进度值变化不需要重新测量，只需要重新计算指示器的x坐标
+     */
+    @Override
+    protected void onSizeChanged(int w, int h, int oldw, int oldh) {
+        super.onSizeChanged(w, h, oldw, oldh);
+        updateGeometry(w, h);
+        staticLayerDirty = true;
+        ensureStaticLayer(w, h);
+    }
+
+    private void updateGeometry(int width, int height) {
         // 初始化进度条的y坐标
         seekBarY = height / 2 + DEFAULT_TEXT_HEIGHT;
         upWareY = seekBarY;
-        downWareY = seekBarY - downwardBitmap.getHeight();
-        showTextY = seekBarY - downwardBitmap.getHeight() - DEFAULT_TEXT_HEIGHT;
-        lastWidth = getWidth() - DEFAULT_PADDING_SPACING * 2;
-        if (spacings != null && spacings.length > 0) {
-            oneSpace = lastWidth / spacings.length;
-        } else {
-            oneSpace = lastWidth / ((maxValue - minValue) / spacingValue);
-        }
-        setSeekLeft();
-        setSeekRight();
+        downWareY = seekBarY - downwardIndicator.getHeight();
+        showTextY = seekBarY - downwardIndicator.getHeight() - DEFAULT_TEXT_HEIGHT;
+        scaleModel.setBounds(DEFAULT_PADDING_SPACING, width - DEFAULT_PADDING_SPACING * 2);
+        track.onScaleChanged();
+        setSeekAll();
+    }
 
-        setMeasuredDimension(width, height);
+    /**
+     * 是否已经确定尺寸，确定后才能计算指示器的坐标
+     */
+    private boolean isSized() {
+        return scaleModel.getWidth() > 0;
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        super.onDetachedFromWindow();
+        stopFling();
+        cancelPendingUpdate();
+        finishPositionAnimation();
+        // 静态图层留给下次attach使用，只在下次绘制时重画内容
+        staticLayerDirty = true;
     }
 
     @Override
@@ -157,254 +303,748 @@ public class SeekBarView extends View {
     @Override
     protected void onDraw(Canvas canvas) {
         super.onDraw(canvas);
+        long drawStart = metrics != null ? System.nanoTime() : 0;
 
+        if (staticLayer != null) {
+            drawStaticLayer(canvas);
+        } else {
+            drawSeekBarBackground(canvas);
+            drawSpace(canvas);
+        }
         drawSeekBar(canvas);
-        drawSpace(canvas);
         if (isUpdate) {
-            drawTextShow(clickType, showTextY, canvas);
+            drawTextShow(activeThumb, showTextY, canvas);
+        }
+        for (int i = 0; i < track.getThumbCount(); i++) {
+            getIndicator(i).draw(canvas, (float) track.getPosition(i), getIndicatorY(i));
+        }
+        if (metrics != null) {
+            metrics.record(SeekBarMetrics.TIMER_DRAW, System.nanoTime() - drawStart);
         }
-        drawIndicator(leftWareX, upWareY, upwardBitmap, canvas);
-        drawIndicator(rightWareX, downWareY, downwardBitmap, canvas);
     }
 
     /**
-     * 画进度条
+     * 按照静态内容占用的区域分配静态图层，从刻度值的顶部到进度条的底部，尺寸不变时复用
+     * 在onSizeChanged和文字大小变化时调用，onDraw中不分配
      */
-    private void drawSeekBar(Canvas canvas) {
-        int width = getWidth();
-        int height = getHeight();
+    private void ensureStaticLayer(int width, int height) {
+        if (!staticLayerEnabled || width <= 0 || height <= 0) {
+            return;
+        }
+        // 刻度值的基线在刻度线上方4像素，见drawSpaceText
+        int labelTop = seekBarY - DEFAULT_SEEK_BAR_HEIGHT / 2 - DEFAULT_SPACE_HEIGHT - 4 - (int) Math.ceil(textSize);
+        int top = Math.max(0, labelTop - DIRTY_MARGIN);
+        int bottom = Math.min(height, seekBarY + DEFAULT_SEEK_BAR_HEIGHT / 2 + DIRTY_MARGIN);
+        if (bottom <= top) {
+            releaseStaticLayer();
+            return;
+        }
+        if (top != staticLayerTop) {
+            staticLayerTop = top;
+            staticLayerDirty = true;
+        }
+        if (staticLayer != null && staticLayer.getWidth() == width && staticLayer.getHeight() == bottom - top) {
+            return;
+        }
+        releaseStaticLayer();
+        staticLayer = Bitmap.createBitmap(width, bottom - top, Bitmap.Config.ARGB_8888);
+        staticCanvas = new Canvas(staticLayer);
+        staticLayerDirty = true;
+    }
+
+    /**
+     * 画缓存的静态图层
+     * 尺寸、刻度或样式变化后才重新绘制
+     */
+    private void drawStaticLayer(Canvas canvas) {
+        if (staticLayerDirty) {
+            staticLayer.eraseColor(Color.TRANSPARENT);
+            int saveCount = staticCanvas.save();
+            staticCanvas.translate(0, -staticLayerTop);
+            drawSeekBarBackground(staticCanvas);
+            drawSpace(staticCanvas);
+            staticCanvas.restoreToCount(saveCount);
+            staticLayerDirty = false;
+        }
+        canvas.drawBitmap(staticLayer, 0, staticLayerTop, null);
+    }
+
+    private void releaseStaticLayer() {
+        if (staticLayer != null) {
+            staticLayer.recycle();
+            staticLayer = null;
+            staticCanvas = null;
+        }
+    }
 
-        // 画进度条的背景
-        resetPaint(Color.GRAY, DEFAULT_SEEK_BAR_HEIGHT, Paint.Style.FILL);
-        canvas.drawLine(DEFAULT_PADDING_SPACING, height / 2 + DEFAULT_TEXT_HEIGHT, width - DEFAULT_PADDING_SPACING, height / 2 + DEFAULT_TEXT_HEIGHT, paint);
-        // 画可变化的进度条
-        resetPaint(Color.RED, DEFAULT_SEEK_BAR_HEIGHT, Paint.Style.FILL);
-        canvas.drawLine(leftWareX, seekBarY, rightWareX, seekBarY, paint);
+    /**
+     * 画进度条的背景
+     */
+    private void drawSeekBarBackground(Canvas canvas) {
+        canvas.drawLine(DEFAULT_PADDING_SPACING, seekBarY, getWidth() - DEFAULT_PADDING_SPACING, seekBarY, trackPaint);
+    }
+
+    /**
+     * 画可变化的进度条
+     * 每两个相邻的指示器之间为一段进度，指示器个数为奇数时最后一个指示器不与其它指示器组成进度
+     */
+    private void drawSeekBar(Canvas canvas) {
+        for (int i = 0; i + 1 < track.getThumbCount(); i += 2) {
+            canvas.drawLine((float) track.getPosition(i), seekBarY, (float) track.getPosition(i + 1), seekBarY, progressPaint);
+        }
     }
 
     /**
      * 画刻度线
      */
     private void drawSpace(Canvas canvas) {
-        int num;
-        if (spacings == null || spacings.length == 0) {
-            num = (maxValue - minValue) / spacingValue; // 计算出多少个间隔
-        } else {
-            num = spacings.length;
+        int num = scaleModel.getSpaceCount(); // 计算出多少个间隔
+        if (tickLayout.update(num, scaleModel.getWidth(), DEFAULT_MIN_TICK_PITCH, maxLabelWidth + DEFAULT_LABEL_GAP) || labelsDirty) {
+            buildTickLabels(num);
         }
 
-        int spacingAll = minValue;
-        for (int i = 1; i < num; i++) {
-            resetPaint(Color.GRAY, 2, Paint.Style.FILL);
-            canvas.drawLine(i * oneSpace + DEFAULT_PADDING_SPACING, seekBarY - DEFAULT_SEEK_BAR_HEIGHT / 2 - DEFAULT_SPACE_HEIGHT, i * oneSpace + DEFAULT_PADDING_SPACING, seekBarY - DEFAULT_SEEK_BAR_HEIGHT / 2, paint);
+        int tickStep = tickLayout.getTickStep();
+        int labelStep = tickLayout.getLabelStep();
+        for (long index = tickStep; index < num; index += tickStep) {
+            int i = (int) index;
+            float x = scaleModel.getTickPx(i);
+            canvas.drawLine(x, seekBarY - DEFAULT_SEEK_BAR_HEIGHT / 2 - DEFAULT_SPACE_HEIGHT, x, seekBarY - DEFAULT_SEEK_BAR_HEIGHT / 2, spacePaint);
 
-            String text;
-            if (spacings == null || spacings.length == 0) {
-                text = String.valueOf(minValue + spacingValue * i);
-            } else {
-                spacingAll += spacings[i - 1];
-                text = String.valueOf(spacingAll);
+            if (tickLayout.isLabel(i)) {
+                // 画刻度值，x轴减去字体宽度的一半，字体居中
+                drawSpaceText(i / labelStep, x, seekBarY - DEFAULT_SEEK_BAR_HEIGHT / 2 - DEFAULT_SPACE_HEIGHT, canvas);
             }
-            // 画刻度值，x轴减去字体宽度的一半，字体居中
-            drawSpaceText(text, i * oneSpace + DEFAULT_PADDING_SPACING, seekBarY - DEFAULT_SEEK_BAR_HEIGHT / 2 - DEFAULT_SPACE_HEIGHT, canvas);
         }
     }
 
     /**
-     * 画刻度
+     * 计算需要画的刻度值
+     * 刻度或刻度值的间隔变化后才重新计算，宽度在绘制时由数字宽度相加得到
      */
-    private void drawSpaceText(String text, int x, int y, Canvas canvas) {
-        resetPaint(Color.GRAY, 2, Paint.Style.FILL);
-        canvas.drawText(text, x - getTextWidth(text) / 2, y - 4, paint); // 让刻度值与刻度有4像素的间距
+    private void buildTickLabels(int num) {
+        int labelStep = tickLayout.getLabelStep();
+        int count = num / labelStep + 1;
+        if (tickLabels == null || tickLabels.length != count) {
+            tickLabels = new long[count];
+        }
+        for (int i = 1; i < count; i++) {
+            long index = (long) i * labelStep;
+            if (index >= num) {
+                break;
+            }
+            tickLabels[i] = scaleModel.getTickValue((int) index);
+        }
+        labelsDirty = false;
     }
 
     /**
-     * 或指示器
+     * 画刻度
      */
-    private void drawIndicator(int x, int y, Bitmap bitmap, Canvas canvas) {
-        int width = bitmap.getWidth();
-        canvas.drawBitmap(bitmap, x - width / 2, y, paint);
+    private void drawSpaceText(int index, float x, int y, Canvas canvas) {
+        long value = tickLabels[index];
+        int length = NumberChars.format(value, labelChars);
+        int textWidth = getTextWidth(value);
+        canvas.drawText(labelChars, 0, length, x - textWidth / 2f, y - 4, spaceTextPaint); // 让刻度值与刻度有4像素的间距
     }
 
     /**
      * 滑动过程中刻度会跟着显示
      * 跟着当前指示针的位置显示
      */
-    private void drawTextShow(int clickType, int y, Canvas canvas) {
-        resetPaint(Color.RED, 2, Paint.Style.FILL);
-        int x;
-        if (clickType == CLICK_TYPE_LEFT) {
-            x = leftWareX;
-        } else {
-            x = rightWareX;
-        }
-        int current = getCurrentSeek(x);
-        String text = String.valueOf(current);
-        canvas.drawText(text, x - getTextWidth(text) / 2, y, paint);
+    private void drawTextShow(int index, int y, Canvas canvas) {
+        double x = track.getPosition(index);
+        long current = getCurrentSeek(x);
+        int length = NumberChars.format(current, showTextChars);
+        float textWidth = showTextAdvances.measure(current);
+        canvas.drawText(showTextChars, 0, length, (float) x - textWidth / 2, y, showTextPaint);
     }
 
     /**
-     * 获取字体的宽度
+     * 获取刻度值的宽度
      */
-    private int getTextWidth(String text) {
-        if (TextUtils.isEmpty(text)) {
-            return 0;
-        }
-        return (int) paint.measureText(text);
+    private int getTextWidth(long value) {
+        return (int) labelAdvances.measure(value);
+    }
+
+    /**
+     * 配置所有画笔
+     * 绘制过程中不再修改画笔的状态
+     */
+    private void initPaints() {
+        initPaint(trackPaint, trackColor, DEFAULT_SEEK_BAR_HEIGHT);
+        initPaint(progressPaint, progressColor, DEFAULT_SEEK_BAR_HEIGHT);
+        initPaint(spacePaint, trackColor, DEFAULT_SPACE_WIDTH);
+        initPaint(spaceTextPaint, trackColor, DEFAULT_SPACE_WIDTH);
+        initPaint(showTextPaint, progressColor, DEFAULT_SPACE_WIDTH);
+        labelAdvances = TextMetricsCache.get(spaceTextPaint);
+        showTextAdvances = TextMetricsCache.get(showTextPaint);
+        updateShowTextWidth();
     }
 
-    private void resetPaint(int color, float width, Paint.Style style) {
-        paint.reset();
-        paint.setAntiAlias(true);
+    /**
+     * 计算滑动时显示的进度值可能的最大宽度
+     * 进度值在最小值和最大值之间，位数最多的就是这两个值之一
+     */
+    private void updateShowTextWidth() {
+        long min = scaleModel.getMinValue();
+        long max = scaleModel.getMaxValue();
+        float showTextWidth = Math.max(showTextAdvances.measure(min), showTextAdvances.measure(max));
+        showTextHalfWidth = (int) Math.ceil(showTextWidth / 2);
+        maxLabelWidth = Math.max(labelAdvances.measure(min), labelAdvances.measure(max));
+    }
+
+    private void initPaint(Paint paint, int color, float width) {
         paint.setColor(color);
         paint.setStrokeWidth(width);
-        paint.setStyle(style);
-        paint.setTextSize(20);
+        paint.setStyle(Paint.Style.FILL);
+        paint.setTextSize(textSize);
     }
 
     @Override
     public boolean onTouchEvent(MotionEvent event) {
+        if (metrics != null) {
+            touchTimeNanos = System.nanoTime();
+        }
         float x = event.getX();
         float y = event.getY();
         switch (event.getAction()) {
             case MotionEvent.ACTION_DOWN:
-                if (updateListener != null) {
-                    updateListener.onUpdateStart(leftWareX, rightWareX);
+                // 上一次手势的惯性滑动在这里结束
+                stopFling();
+                finishPositionAnimation();
+                boolean trackTap = clickLocation(x, y);
+                if (activeThumb == NO_THUMB) {
+                    // 没有点击到指示器和进度条，不处理这次手势，后续的事件交给父布局
+                    return false;
                 }
-                clickLocation(x, y);
                 setUpdate();
+                if (isUpdate) {
+                    invalidateIndicator(activeThumb, track.getPosition(activeThumb), track.getPosition(activeThumb));
+                    if (flingEnabled) {
+                        if (velocityTracker == null) {
+                            velocityTracker = VelocityTracker.obtain();
+                        } else {
+                            velocityTracker.clear();
+                        }
+                        velocityTracker.addMovement(event);
+                    }
+                }
                 dispatchUpdate(MotionEvent.ACTION_DOWN);
+                if (trackTap) {
+                    // 点击进度条时最近的指示器跳到点击的位置，之后和拖动指示器一样
+                    updateX(x);
+                    dispatchUpdate(MotionEvent.ACTION_MOVE);
+                    invalidateDirty();
+                }
                 break;
             case MotionEvent.ACTION_MOVE:
-                updateX((int) x);
+                if (activeThumb == NO_THUMB) {
+                    return false;
+                }
+                if (velocityTracker != null) {
+                    velocityTracker.addMovement(event);
+                }
+                // 高采样率的屏幕一次滑动事件包含多个历史触摸点，依次处理才能得到真实的滑动轨迹
+                int historySize = event.getHistorySize();
+                for (int i = 0; i < historySize; i++) {
+                    updateX(event.getHistoricalX(i));
+                    if (!finalSampleOnly) {
+                        dispatchUpdate(MotionEvent.ACTION_MOVE);
+                    }
+                }
+                updateX(x);
                 dispatchUpdate(MotionEvent.ACTION_MOVE);
+                invalidateDirty();
                 break;
             case MotionEvent.ACTION_UP:
-                isUpdate = false;
-                postInvalidate();
-                dispatchUpdate(MotionEvent.ACTION_UP);
+            case MotionEvent.ACTION_CANCEL:
+                if (activeThumb == NO_THUMB) {
+                    return false;
+                }
+                boolean fling = false;
+                if (velocityTracker != null) {
+                    if (event.getAction() == MotionEvent.ACTION_UP && isUpdate) {
+                        velocityTracker.addMovement(event);
+                        velocityTracker.computeCurrentVelocity(1000, maxFlingVelocity);
+                        fling = startFling(velocityTracker.getXVelocity());
+                    }
+                    velocityTracker.recycle();
+                    velocityTracker = null;
+                }
+                if (!fling) {
+                    // 惯性滑动时等滑动结束再结束手势
+                    finishGesture();
+                }
                 break;
         }
         return true;
     }
 
+    /**
+     * 结束一次手势，隐藏进度值并回调onUpdateEnd
+     */
+    private void finishGesture() {
+        if (isUpdate) {
+            isUpdate = false;
+            invalidateIndicator(activeThumb, track.getPosition(activeThumb), track.getPosition(activeThumb));
+            if (track.isSnapToTick()) {
+                settle(activeThumb);
+            }
+        }
+        if (activeThumb != NO_THUMB) {
+            // 拖动、点击进度条、惯性滑动和吸附只修改位置，记录最终的进度值，尺寸或样式变化后按照这个值重新放置
+            thumbValues[activeThumb] = getThumbValue(activeThumb);
+        }
+        publishRange();
+        dispatchUpdate(MotionEvent.ACTION_UP);
+        if (metrics != null) {
+            metrics.countGesture();
+            if (metricsListener != null) {
+                metricsListener.onGestureEnd(metrics);
+            }
+        }
+    }
+
+    /**
+     * 开始惯性滑动
+     *
+     * @param velocity 手指离开时的速度，单位px/s
+     * @return 速度太小时不滑动，返回false
+     */
+    private boolean startFling(float velocity) {
+        if (Math.abs(velocity) < minFlingVelocity) {
+            return false;
+        }
+        if (flingScroller == null) {
+            flingScroller = new OverScroller(getContext());
+        }
+        double x = track.getPosition(activeThumb);
+        int startX = (int) x;
+        flingOffset = x - startX;
+        flingScroller.fling(startX, 0, (int) velocity, 0,
+                DEFAULT_PADDING_SPACING, getWidth() - DEFAULT_PADDING_SPACING, 0, 0);
+        flinging = true;
+        ViewCompat.postOnAnimation(this, flingRunnable);
+        return true;
+    }
+
+    /**
+     * 惯性滑动的每一帧
+     * 与手指滑动一样经过updateX的边界和最小间距限制，每帧最多回调一次onUpdate
+     */
+    private void onFlingFrame() {
+        if (!flinging) {
+            return;
+        }
+        boolean running = flingScroller.computeScrollOffset();
+        double target = flingScroller.getCurrX() + flingOffset;
+        updateX(target);
+        dispatchUpdate(MotionEvent.ACTION_MOVE);
+        invalidateDirty();
+        // 滑动结束，或者被边界、另一个指示器挡住时停止
+        if (running && Math.abs(track.getPosition(activeThumb) - target) < 1) {
+            ViewCompat.postOnAnimation(this, flingRunnable);
+        } else {
+            stopFling();
+        }
+    }
+
+    /**
+     * 停止惯性滑动并结束手势
+     */
+    private void stopFling() {
+        if (!flinging) {
+            return;
+        }
+        flinging = false;
+        removeCallbacks(flingRunnable);
+        flingScroller.forceFinished(true);
+        finishGesture();
+    }
+
     private void setUpdate() {
-        if (clickType == CLICK_TYPE_LEFT || clickType == CLICK_TYPE_RIGHT) {
+        if (activeThumb != NO_THUMB) {
             isUpdate = true;
         }
     }
 
     /**
-     * 现在左右指示器的滑动边界
-     * 左右不能交叉
+     * 现在指示器的滑动边界
+     * 相邻的指示器不能交叉，限制见{@link ThumbTrack#constrain}
+     * 拖动时只修改track，不发布进度值，不分配内存
      * <p>
      * 精华
      */
-    private void updateX(int x) {
-        int space = getCurrentDistancePx();
-        if (clickType == CLICK_TYPE_LEFT) {
-            if (x <= DEFAULT_PADDING_SPACING) { // 超出左边界
-                leftWareX = DEFAULT_PADDING_SPACING;
-            } else if (x >= getWidth() - DEFAULT_PADDING_SPACING) { // 超出右边界
-                leftWareX = rightWareX - space;
-            } else {
-                int rightSeek = getCurrentSeek(rightWareX);
-                int currentSeek = getCurrentSeek(x);
-                if (currentSeek + distance > rightSeek) {
-                    leftWareX = rightWareX - getCurrentDistancePx();
-                } else {
-                    leftWareX = x;
-                }
+    private void updateX(double x) {
+        if (activeThumb == NO_THUMB) {
+            return;
+        }
+        double oldX = track.getPosition(activeThumb);
+        double newX = track.move(activeThumb, x);
+        if (newX != oldX) {
+            addIndicatorDirty(activeThumb, oldX, newX);
+            rangeDirty = true;
+        }
+    }
+
+    private IndicatorRenderer getIndicator(int index) {
+        return index % 2 == 0 ? upwardIndicator : downwardIndicator;
+    }
+
+    private int getIndicatorY(int index) {
+        return index % 2 == 0 ? upWareY : downWareY;
+    }
+
+    /**
+     * 局部刷新指示器从oldX移动到newX经过的区域
+     * 包含指示器、进度值和进度条变化的部分
+     */
+    private void invalidateIndicator(int index, double oldX, double newX) {
+        addIndicatorDirty(index, oldX, newX);
+        invalidateDirty();
+    }
+
+    private void addIndicatorDirty(int index, double oldX, double newX) {
+        if (index == NO_THUMB) {
+            return;
+        }
+        IndicatorRenderer indicator = getIndicator(index);
+        int y = getIndicatorY(index);
+        int halfWidth = Math.max(indicator.getWidth() / 2, showTextHalfWidth) + DIRTY_MARGIN;
+        int top = Math.min(showTextY - (int) Math.ceil(textSize), y) - DIRTY_MARGIN;
+        int bottom = Math.max(y + indicator.getHeight(), seekBarY + DEFAULT_SEEK_BAR_HEIGHT / 2) + DIRTY_MARGIN;
+
+        // 小数坐标向外取整，包含被抗锯齿影响的像素
+        int dirtyLeft = (int) Math.floor(Math.min(oldX, newX)) - halfWidth;
+        int dirtyRight = (int) Math.ceil(Math.max(oldX, newX)) + halfWidth;
+        dirtyRegion.union(dirtyLeft, top, dirtyRight, bottom);
+    }
+
+    /**
+     * 刷新已合并的区域
+     * API 21及以上开启硬件加速时invalidate的矩形被忽略，整个view都会重新录制，此时直接整体刷新
+     * 只有软件绘制和API 21以下才真正局部刷新
+     */
+    @SuppressWarnings("deprecation")
+    private void invalidateDirty() {
+        dirtyRegion.clip(getWidth(), getHeight());
+        if (!dirtyRegion.isEmpty()) {
+            if (metrics != null) {
+                metrics.countInvalidation();
             }
-        } else if (clickType == CLICK_TYPE_RIGHT) {
-            if (x <= DEFAULT_PADDING_SPACING) { // 超出左边界
-                rightWareX = leftWareX + space;
-            } else if (x >= getWidth() - DEFAULT_PADDING_SPACING) { // 超出右边界
-                rightWareX = getWidth() - DEFAULT_PADDING_SPACING;
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP && isHardwareAccelerated()) {
+                invalidatedArea += (long) getWidth() * getHeight();
+                invalidate();
             } else {
-                int leftSeek = getCurrentSeek(leftWareX);
-                int currentSeek = getCurrentSeek(x);
-                if (currentSeek - distance < leftSeek) {
-                    rightWareX = leftWareX + getCurrentDistancePx();
-                } else {
-                    rightWareX = x;
-                }
+                invalidatedArea += dirtyRegion.getArea();
+                // compileSdk 28已经废弃，软件绘制时仍然只重绘这个区域
+                invalidate(dirtyRegion.getLeft(), dirtyRegion.getTop(), dirtyRegion.getRight(), dirtyRegion.getBottom());
             }
         }
-        postInvalidate();
+        dirtyRegion.reset();
+    }
+
+    /**
+     * 累计刷新的面积，单位为像素
+     * 用于确认局部刷新的效果，硬件加速忽略刷新矩形时按照整个view计算
+     */
+    public long getInvalidatedArea() {
+        return invalidatedArea;
+    }
+
+    public void resetInvalidatedArea() {
+        invalidatedArea = 0;
     }
 
+    /**
+     * 回调进度
+     * 一次手势只回调一次onUpdateStart和onUpdateEnd
+     * onUpdate只在进度值变化时回调，并按照回调模式和间隔合并
+     */
     private void dispatchUpdate(int event) {
-        int left = getCurrentSeek(leftWareX);
-        int right = getCurrentSeek(rightWareX);
         switch (event) {
             case MotionEvent.ACTION_DOWN:
-                if (updateListener != null) {
-                    updateListener.onUpdateStart(left, right);
+                cancelPendingUpdate();
+                for (int i = 0; i < track.getThumbCount(); i++) {
+                    lastDispatchValues[i] = getCurrentSeek(track.getPosition(i));
                 }
+                notifyListeners(MotionEvent.ACTION_DOWN);
                 break;
             case MotionEvent.ACTION_MOVE:
-                if (updateListener != null) {
-                    updateListener.onUpdate(left, right);
+                if (!hasUpdateListener()) {
+                    break;
+                }
+                updatePending = true;
+                if (dispatchMode == DISPATCH_MODE_IMMEDIATE) {
+                    flushUpdate();
+                } else {
+                    if (frameScheduled && metrics != null) {
+                        // 合并到已经安排的下一帧回调中
+                        metrics.countCoalescedUpdate();
+                    }
+                    scheduleFrame();
                 }
                 break;
             case MotionEvent.ACTION_UP:
-                if (updateListener != null) {
-                    updateListener.onUpdateEnd(left, right);
+            case MotionEvent.ACTION_CANCEL:
+                // 结束时的进度值就是最终值，未回调的onUpdate不再回调
+                cancelPendingUpdate();
+                // 吸附动画还没有结束时回调吸附后的进度值
+                for (int i = 0; i < track.getThumbCount(); i++) {
+                    lastDispatchValues[i] = getCurrentSeek(getTargetX(i));
                 }
+                notifyListeners(MotionEvent.ACTION_UP);
                 break;
         }
     }
 
+    private void flushUpdate() {
+        if (!updatePending) {
+            return;
+        }
+        boolean changed = false;
+        for (int i = 0; i < track.getThumbCount(); i++) {
+            if (getCurrentSeek(track.getPosition(i)) != lastDispatchValues[i]) {
+                changed = true;
+                break;
+            }
+        }
+        if (!changed) {
+            updatePending = false;
+            if (metrics != null) {
+                metrics.countCoalescedUpdate();
+            }
+            return;
+        }
+        long now = SystemClock.uptimeMillis();
+        if (updateInterval > 0 && now - lastUpdateTime < updateInterval) {
+            // 还没到回调间隔，下一帧再检查
+            scheduleFrame();
+            return;
+        }
+        updatePending = false;
+        lastUpdateTime = now;
+        for (int i = 0; i < track.getThumbCount(); i++) {
+            lastDispatchValues[i] = getCurrentSeek(track.getPosition(i));
+        }
+        notifyListeners(MotionEvent.ACTION_MOVE);
+    }
+
+    /**
+     * 把lastDispatchValues回调给所有监听
+     * 只有左右两个进度值的监听回调第一个和最后一个指示器的进度值
+     */
+    private void notifyListeners(int event) {
+        if (!hasUpdateListener()) {
+            return;
+        }
+        long start = 0;
+        if (metrics != null) {
+            start = System.nanoTime();
+            if (touchTimeNanos != 0) {
+                // 帧回调模式下包含等待下一帧的时间
+                metrics.record(SeekBarMetrics.TIMER_TOUCH_TO_DISPATCH, start - touchTimeNanos);
+                touchTimeNanos = 0;
+            }
+        }
+        long left = lastDispatchValues[0];
+        long right = lastDispatchValues[lastDispatchValues.length - 1];
+        if (updateListener != null) {
+            if (event == MotionEvent.ACTION_DOWN) {
+                updateListener.onUpdateStart((int) left, (int) right);
+            } else if (event == MotionEvent.ACTION_MOVE) {
+                updateListener.onUpdate((int) left, (int) right);
+            } else {
+                updateListener.onUpdateEnd((int) left, (int) right);
+            }
+        }
+        if (longUpdateListener != null) {
+            if (event == MotionEvent.ACTION_DOWN) {
+                longUpdateListener.onUpdateStart(left, right);
+            } else if (event == MotionEvent.ACTION_MOVE) {
+                longUpdateListener.onUpdate(left, right);
+            } else {
+                longUpdateListener.onUpdateEnd(left, right);
+            }
+        }
+        if (multiUpdateListener != null) {
+            for (int i = 0; i < lastDispatchValues.length; i++) {
+                dispatchValues[i] = (int) lastDispatchValues[i];
+            }
+            if (event == MotionEvent.ACTION_DOWN) {
+                multiUpdateListener.onUpdateStart(dispatchValues);
+            } else if (event == MotionEvent.ACTION_MOVE) {
+                multiUpdateListener.onUpdate(dispatchValues);
+            } else {
+                multiUpdateListener.onUpdateEnd(dispatchValues);
+            }
+        }
+        if (metrics != null) {
+            metrics.record(SeekBarMetrics.TIMER_LISTENER, System.nanoTime() - start);
+        }
+    }
+
+    private boolean hasUpdateListener() {
+        return updateListener != null || longUpdateListener != null || multiUpdateListener != null;
+    }
+
+    private void scheduleFrame() {
+        if (!frameScheduled) {
+            frameScheduled = true;
+            ViewCompat.postOnAnimation(this, frameDispatcher);
+        }
+    }
+
+    private void cancelPendingUpdate() {
+        if (updatePending && metrics != null) {
+            metrics.countDroppedUpdate();
+        }
+        updatePending = false;
+        if (frameScheduled) {
+            frameScheduled = false;
+            removeCallbacks(frameDispatcher);
+        }
+    }
+
     /**
      * 计算当前进度值
      * <p>
      * 精华
      */
-    private int getCurrentSeek(int x) {
-        if (spacings == null || spacings.length == 0) {
-            float ratio = (float) (x - DEFAULT_PADDING_SPACING) / (float) (getWidth() - 2 * DEFAULT_PADDING_SPACING);
-            return (int) (ratio * (maxValue - minValue));
-        } else {
-            // 计算出当前滑动到第几个刻度上
-            float num = (float) (x - DEFAULT_PADDING_SPACING) / oneSpace;
-            int intNum = (int) Math.floor(num);
-
-            // 计算出当前的x轴到上一个刻度的距离
-            int resultText = minValue;
-            int currentX = x - DEFAULT_PADDING_SPACING;
-            for (int i = 0; i < intNum; i++) {
-                resultText += spacings[i];
-                currentX -= oneSpace;
-            }
+    private long getCurrentSeek(double x) {
+        return track.valueAt(x);
+    }
+
+    /**
+     * 手指离开后把指示器移动到吸附的刻度上
+     */
+    private void settle(int index) {
+        double x = track.getPosition(index);
+        double target = track.getSnapTarget(index, x);
+        if (target == x) {
+            return;
+        }
+        track.copyPositions(animToX);
+        animToX[index] = target;
+        startPositionAnimation(SETTLE_DURATION);
+    }
 
-            // 如果计算的intNum值等于spacings的长度，说明是最大刻度值
-            // 计算当前刻度内的值
-            int currentXSpace = 0;
-            if (intNum < spacings.length) {
-                currentXSpace = (int) ((float) currentX / (float) oneSpace * spacings[intNum]);
+    /**
+     * 从当前位置开始把指示器移动到animToX
+     * 复用同一个animator，正在进行的动画直接从当前位置转向新的目标
+     */
+    private void startPositionAnimation(long duration) {
+        if (positionAnimator == null) {
+            positionAnimator = ValueAnimator.ofFloat(0f, 1f);
+            positionAnimator.addUpdateListener(new ValueAnimator.AnimatorUpdateListener() {
+                @Override
+                public void onAnimationUpdate(ValueAnimator animation) {
+                    onPositionFrame(animation.getAnimatedFraction());
+                }
+            });
+        }
+        positionAnimator.cancel();
+        track.copyPositions(animFromX);
+        positionAnimating = true;
+        positionAnimator.setDuration(duration);
+        positionAnimator.start();
+    }
+
+    private void onPositionFrame(float fraction) {
+        if (!positionAnimating) {
+            return;
+        }
+        if (fraction >= 1f) {
+            positionAnimating = false;
+            fraction = 1f;
+        }
+        for (int i = 0; i < track.getThumbCount(); i++) {
+            double newX = fraction == 1f ? animToX[i] : animFromX[i] + (animToX[i] - animFromX[i]) * fraction;
+            moveIndicator(i, newX);
+        }
+        invalidateDirty();
+    }
+
+    /**
+     * 结束位置动画，直接移动到目标位置，保证显示的位置与回调的进度值一致
+     */
+    private void finishPositionAnimation() {
+        if (positionAnimating) {
+            positionAnimating = false;
+            positionAnimator.cancel();
+            for (int i = 0; i < track.getThumbCount(); i++) {
+                moveIndicator(i, animToX[i]);
             }
-            resultText += currentXSpace;
+            invalidateDirty();
+        }
+    }
+
+    /**
+     * 移动指示器，只记录指示器经过的区域，由调用方统一刷新
+     */
+    private void moveIndicator(int index, double newX) {
+        double oldX = track.getPosition(index);
+        if (oldX != newX) {
+            track.setPosition(index, newX);
+            addIndicatorDirty(index, oldX, newX);
+        }
+    }
 
-            return resultText;
+    /**
+     * 指示器最终停留的x坐标，位置动画进行中时为动画的目标位置
+     */
+    private double getTargetX(int index) {
+        if (positionAnimating) {
+            return animToX[index];
         }
+        return track.getPosition(index);
     }
 
     /**
      * 判断是否是点击到指示器的范围内
      * 如果没有点击到范围内不刷新view
+     * 二分查找离手指最近的指示器，只检查它和相邻的指示器，相邻的指示器在进度条的另一侧
+     * 扩大后的点击区域重叠时选择水平距离最近的指示器
+     *
+     * @return 是否点击在进度条上而不是指示器上，此时activeThumb为离手指最近的指示器
      */
-    private void clickLocation(float x, float y) {
-        RectF leftRect = new RectF(leftWareX - upwardBitmap.getWidth() / 2, upWareY, leftWareX + upwardBitmap.getWidth() / 2, upWareY + upwardBitmap.getHeight());
-        RectF rightRect = new RectF(rightWareX - downwardBitmap.getWidth() / 2, downWareY, rightWareX + downwardBitmap.getWidth() / 2, downWareY + downwardBitmap.getHeight());
-
-        if (leftRect.contains(x, y)) {
-            clickType = CLICK_TYPE_LEFT;
-        } else if (rightRect.contains(x, y)) {
-            clickType = CLICK_TYPE_RIGHT;
-        } else {
-            clickType = CLICK_TYPE_OUT;
+    private boolean clickLocation(float x, float y) {
+        int nearest = track.nearest(x);
+        activeThumb = NO_THUMB;
+        double nearestDistance = Double.MAX_VALUE;
+        int from = Math.max(0, nearest - 1);
+        int to = Math.min(track.getThumbCount() - 1, nearest + 1);
+        for (int i = from; i <= to; i++) {
+            double distanceX = Math.abs(track.getPosition(i) - x);
+            if (distanceX < nearestDistance && hitThumb(i, x, y)) {
+                activeThumb = i;
+                nearestDistance = distanceX;
+            }
+        }
+        if (activeThumb == NO_THUMB && trackTapEnabled && hitTrack(x, y)) {
+            activeThumb = nearest;
+            return true;
         }
+        return false;
+    }
+
+    private boolean hitThumb(int index, float x, float y) {
+        IndicatorRenderer indicator = getIndicator(index);
+        int top = getIndicatorY(index);
+        float centerX = (float) track.getPosition(index);
+        thumbRect.set(centerX - indicator.getWidth() / 2, top, centerX + indicator.getWidth() / 2, top + indicator.getHeight());
+        thumbRect.inset(-touchTargetPadding, -touchTargetPadding);
+        return thumbRect.contains(x, y);
+    }
+
+    /**
+     * 是否点击在进度条上，上下包含指示器的高度
+     */
+    private boolean hitTrack(float x, float y) {
+        float start = scaleModel.getStartPx();
+        thumbRect.set(start, downWareY, start + scaleModel.getWidth(), upWareY + upwardIndicator.getHeight());
+        thumbRect.inset(-touchTargetPadding, -touchTargetPadding);
+        return thumbRect.contains(x, y);
     }
 
     /**
@@ -414,175 +1054,443 @@ public class SeekBarView extends View {
      * 最大值为当前间距和加上最小值
      */
     public void setSpacing(int min, int... spacings) {
-        minValue = min;
-        int result = minValue;
-        for (int i = 0; i < spacings.length; i++) {
-            result += spacings[i];
+        int oldCount = scaleModel.getSpaceCount();
+        scaleModel.setSpacing(min, spacings);
+        boundScale = null;
+        onScaleChanged(oldCount);
+    }
+
+    /**
+     * 设置平均刻度
+     * 刻度值为long，范围很大时（例如时间戳）建议同时开启{@link #setPrecisionMode(boolean)}
+     * 最大值、最小值或平均刻度不合法时抛出IllegalArgumentException
+     */
+    public void setRange(long min, long max, long spacing) {
+        int oldCount = scaleModel.getSpaceCount();
+        scaleModel.setRange(min, max, spacing);
+        boundScale = null;
+        onScaleChanged(oldCount);
+    }
+
+    /**
+     * 设置非线性刻度，例如{@link LogScaleMapping}、{@link PiecewiseScaleMapping}
+     * 刻度线等距分布，刻度值和进度值按照映射换算，不需要用大量的可变间距模拟曲线
+     *
+     * @param spaceCount 刻度间隔的个数
+     */
+    public void setScaleMapping(ScaleMapping mapping, int spaceCount) {
+        int oldCount = scaleModel.getSpaceCount();
+        scaleModel.setMapping(mapping, spaceCount);
+        boundScale = null;
+        onScaleChanged(oldCount);
+    }
+
+    /**
+     * 设置是否为精确模式
+     * 默认与原有的int坐标一致，指示器的坐标和刻度值都截断为整数
+     * 开启后指示器的坐标保留小数，刻度值四舍五入，设置的进度值与显示的进度值不会因为换算产生误差
+     */
+    public void setPrecisionMode(boolean precise) {
+        if (scaleModel.isPrecise() == precise) {
+            return;
+        }
+        scaleModel.setPrecise(precise);
+        staticLayerDirty = true;
+        track.onScaleChanged();
+        if (isSized()) {
+            setSeekAll();
         }
-        maxValue = result;
-        this.spacings = spacings;
-        postInvalidate();
+        invalidate();
     }
 
-    public void setCurrentLeft(int left) {
-        if (left >= maxValue || left < minValue) {
-            left = minValue;
+    /**
+     * 设置是否吸附刻度
+     * 开启后滑动时的进度值取离手指最近的刻度值，手指离开后指示器以动画吸附到对应的刻度线上
+     */
+    public void setSnapToTick(boolean snapToTick) {
+        if (track.isSnapToTick() == snapToTick) {
+            return;
         }
-        this.left = left;
-        requestLayout();
-        postInvalidate();
+        track.setSnapToTick(snapToTick);
+        rangeDirty = true;
+        invalidate();
     }
 
-    private void setSeekLeft() {
-        if (left > 0) {
-            if (spacings == null || spacings.length == 0) {
-                float num = (float) (left) / maxValue;
-                leftWareX = (int) (num * lastWidth + DEFAULT_PADDING_SPACING);
-            } else {
-                leftWareX = calculatePx(left);
-            }
-        } else {
-            leftWareX = DEFAULT_PADDING_SPACING;
+    /**
+     * 绑定进度条状态，用于列表中复用SeekBarView
+     * 再次绑定同一个刻度的状态时复用已经计算好的刻度，只重绘变化的指示器
+     */
+    public void bind(SeekBarState state) {
+        if (state.scale != boundScale) {
+            int oldCount = scaleModel.getSpaceCount();
+            state.scale.applyTo(scaleModel);
+            boundScale = state.scale;
+            onScaleChanged(oldCount);
         }
+        setLeftDistanceRight(state.getDistance());
+        setCurrentLeftAndRight(state.getLeft(), state.getRight());
     }
 
-    public void setCurrentRight(int right) {
-        if (right > maxValue || right <= minValue) {
-            right = maxValue;
+    private void onScaleChanged(int oldCount) {
+        rangeDirty = true;
+        labelsDirty = true;
+        track.onScaleChanged();
+        staticLayerDirty = true;
+        updateShowTextWidth();
+        if (isSized()) {
+            setSeekAll();
         }
-        this.right = right;
-        requestLayout();
-        postInvalidate();
+        if (oldCount != scaleModel.getSpaceCount()) {
+            // wrap_content时宽度与刻度个数有关
+            requestLayout();
+        }
+        invalidate();
     }
 
-    private void setSeekRight() {
-        if (right > 0) {
-            if (spacings == null || spacings.length == 0) {
-                float num = (float) (right) / maxValue;
-                rightWareX = (int) (num * lastWidth + DEFAULT_PADDING_SPACING);
-            } else {
-                rightWareX = calculatePx(right);
+    public void setCurrentLeft(long left) {
+        if (left >= scaleModel.getMaxValue() || left < scaleModel.getMinValue()) {
+            left = scaleModel.getMinValue();
+        }
+        resolveThumbValues();
+        thumbValues[0] = left;
+        applyThumbValues();
+    }
+
+    public void setCurrentRight(long right) {
+        if (right > scaleModel.getMaxValue() || right <= scaleModel.getMinValue()) {
+            right = scaleModel.getMaxValue();
+        }
+        resolveThumbValues();
+        thumbValues[track.getThumbCount() - 1] = right;
+        applyThumbValues();
+    }
+
+    /**
+     * 设置第一个和最后一个指示器的进度值
+     * 与其它指示器一起按照{@link ThumbConstraints#arrange}调整，见{@link #setThumbValues(long...)}
+     */
+    public void setCurrentLeftAndRight(long left, long right) {
+        if (left >= right) {
+            return;
+        }
+        if (left >= scaleModel.getMaxValue() || left < scaleModel.getMinValue()) {
+            left = scaleModel.getMinValue();
+        }
+        if (right > scaleModel.getMaxValue() || right <= scaleModel.getMinValue()) {
+            right = scaleModel.getMaxValue();
+        }
+        resolveThumbValues();
+        thumbValues[0] = left;
+        thumbValues[track.getThumbCount() - 1] = right;
+        applyThumbValues();
+    }
+
+    /**
+     * 没有设置进度值的指示器取当前的进度值，之后与设置的进度值一起调整
+     */
+    private void resolveThumbValues() {
+        for (int i = 0; i < thumbValues.length; i++) {
+            if (thumbValues[i] == UNSET_VALUE) {
+                thumbValues[i] = getThumbValue(i);
             }
-        } else {
-            rightWareX = getWidth() - DEFAULT_PADDING_SPACING;
         }
     }
 
-    public void setCurrentLeftAndRight(int left, int right) {
+    /**
+     * 按照排列规则调整设置的进度值，然后移动所有指示器
+     * 调整后所有指示器从左到右排列，{@link ThumbConstraints#nearest}和拖动时相邻指示器的限制依赖这个顺序
+     */
+    private void applyThumbValues() {
+        ThumbConstraints.arrange(thumbValues, track.getDistance(), scaleModel.getMinValue(), scaleModel.getMaxValue());
+        if (isSized()) {
+            finishPositionAnimation();
+            for (int i = 0; i < track.getThumbCount(); i++) {
+                moveIndicator(i, getSeekPx(i));
+            }
+            invalidateDirty();
+            // 换算到坐标后可能有误差，以显示的进度值为准
+            publishRange();
+        }
+    }
+
+    /**
+     * 根据设置的进度值重新计算所有指示器的坐标
+     */
+    private void setSeekAll() {
+        finishPositionAnimation();
+        for (int i = 0; i < track.getThumbCount(); i++) {
+            track.setPosition(i, getSeekPx(i));
+        }
+        publishRange();
+    }
+
+    /**
+     * 把所有指示器最终停留的进度值原样发布到rangeSelector，不再按照排列规则调整，发布的与显示的始终一致
+     * 还没有确定尺寸时发布设置的进度值，不使用x坐标换算，进度值没有变化时不会创建新的状态
+     */
+    private void publishRange() {
+        for (int i = 0; i < track.getThumbCount(); i++) {
+            syncValues[i] = getThumbValue(i);
+        }
+        rangeSelector.publish(scaleModel.getMinValue(), scaleModel.getMaxValue(), track.getDistance(), syncValues);
+        rangeDirty = false;
+    }
+
+    /**
+     * 第index个指示器的进度值对应的x坐标
+     * 没有设置进度值时按照位置平均分布，第一个和最后一个指示器在起点和终点
+     */
+    private double getSeekPx(int index) {
+        long value = thumbValues[index];
+        if (value != UNSET_VALUE) {
+            return calculatePx(value);
+        }
+        return scaleModel.getStartPx() + scaleModel.getWidth() * index / (track.getThumbCount() - 1);
+    }
+
+    private static long[] unsetValues(int count) {
+        long[] values = new long[count];
+        Arrays.fill(values, UNSET_VALUE);
+        return values;
+    }
+
+    /**
+     * 以默认时长的动画移动到新的进度值
+     */
+    public void animateTo(long left, long right) {
+        animateTo(left, right, DEFAULT_ANIMATE_DURATION);
+    }
+
+    /**
+     * 以动画移动第一个和最后一个指示器，进度值的校验与{@link #setCurrentLeftAndRight(long, long)}相同
+     * 动画进行中再次调用时从当前位置转向新的目标，不会创建新的animator，每帧只刷新指示器经过的区域
+     *
+     * @param durationMs 动画时长，单位ms，小于等于0时直接移动
+     */
+    public void animateTo(long left, long right, long durationMs) {
+        if (durationMs <= 0 || !isSized()) {
+            setCurrentLeftAndRight(left, right);
+            return;
+        }
         if (left >= right) {
             return;
         }
-        if (left >= maxValue || left < minValue) {
-            left = minValue;
+        if (left >= scaleModel.getMaxValue() || left < scaleModel.getMinValue()) {
+            left = scaleModel.getMinValue();
         }
-        if (right > maxValue || right <= minValue) {
-            right = maxValue;
+        if (right > scaleModel.getMaxValue() || right <= scaleModel.getMinValue()) {
+            right = scaleModel.getMaxValue();
         }
-        this.left = left;
-        this.right = right;
-        requestLayout();
-        postInvalidate();
+        resolveThumbValues();
+        thumbValues[0] = left;
+        thumbValues[track.getThumbCount() - 1] = right;
+        ThumbConstraints.arrange(thumbValues, track.getDistance(), scaleModel.getMinValue(), scaleModel.getMaxValue());
+        for (int i = 0; i < track.getThumbCount(); i++) {
+            animToX[i] = getSeekPx(i);
+        }
+        startPositionAnimation(durationMs);
+        publishRange();
     }
 
-    public void setLeftDistanceRight(int distance) {
-        if (distance >= 0) {
-            this.distance = distance;
-        } else {
-            distance = DEFAULT_LEFT_RIGHT_SPACE;
+    /**
+     * 设置指示器的个数，所有指示器回到默认位置
+     * 偶数位置为向上的指示器，奇数位置为向下的指示器，每两个相邻的指示器之间为一段进度
+     * 相邻的指示器之间至少间隔{@link #setLeftDistanceRight(long)}设置的距离
+     */
+    public void setThumbCount(int count) {
+        if (count < DEFAULT_THUMB_COUNT) {
+            throw new IllegalArgumentException("SeekBarView thumb count is must not less " + DEFAULT_THUMB_COUNT);
+        }
+        if (count == track.getThumbCount()) {
+            return;
+        }
+        stopFling();
+        finishPositionAnimation();
+        cancelPendingUpdate();
+        isUpdate = false;
+        activeThumb = NO_THUMB;
+        track.setThumbCount(count);
+        thumbValues = unsetValues(count);
+        lastDispatchValues = new long[count];
+        dispatchValues = new int[count];
+        syncValues = new long[count];
+        rangeDirty = true;
+        animFromX = new double[count];
+        animToX = new double[count];
+        if (isSized()) {
+            setSeekAll();
         }
+        invalidate();
+    }
+
+    public int getThumbCount() {
+        return track.getThumbCount();
     }
 
     /**
-     * 避免滑动过多
-     * 当拖动左边指示器滑动时，以右边指示器为标准计算distance对应的px值
-     * 当拖动右边指示器滑动时，以左边指示器为标准计算distance对应的px值
-     * 可变刻度计算有误差（误差为1），不可变刻度正常
+     * 设置所有指示器的进度值
+     * 超出范围或者不满足相邻指示器最小距离的进度值会被调整，调整方式见{@link ThumbConstraints#solve}
+     *
+     * @param values 个数必须与指示器的个数相同
      */
-    private int getCurrentDistancePx() {
-        int distanceToPx = 0;
-        if (clickType == CLICK_TYPE_LEFT) {
-            if (spacings == null || spacings.length == 0) {
-                distanceToPx = (int) ((float) distance / (float) spacingValue * oneSpace);
-            } else {
-                int currentSeek = getCurrentSeek(rightWareX);
-                int leftSeek = currentSeek - distance;
+    public void setThumbValues(long... values) {
+        if (values == null || values.length != track.getThumbCount()) {
+            throw new IllegalArgumentException("SeekBarView thumb values is must same size with thumbs");
+        }
+        System.arraycopy(values, 0, thumbValues, 0, values.length);
+        applyThumbValues();
+    }
 
-                distanceToPx = rightWareX - calculatePx(leftSeek);
-            }
-        } else if (clickType == CLICK_TYPE_RIGHT) {
-            if (spacings == null || spacings.length == 0) {
-                distanceToPx = (int) ((float) distance / (float) spacingValue * oneSpace);
-            } else {
-                int currentSeek = getCurrentSeek(leftWareX);
-                int rightSeek = currentSeek + distance;
+    /**
+     * 第index个指示器当前的进度值
+     * 还没有确定尺寸时所有指示器都在x坐标0，返回设置的进度值
+     */
+    public long getThumbValue(int index) {
+        if (!isSized()) {
+            return getSetValue(index);
+        }
+        return getCurrentSeek(getTargetX(index));
+    }
 
-                distanceToPx = calculatePx(rightSeek) - leftWareX;
-            }
+    /**
+     * 第index个指示器设置的进度值
+     * 没有设置时按照位置平均分布，与{@link RangeSelector.Range#of}相同
+     */
+    private long getSetValue(int index) {
+        long value = thumbValues[index];
+        if (value != UNSET_VALUE) {
+            return value;
         }
-        if (distanceToPx < 0) {
-            distanceToPx = 0;
+        long min = scaleModel.getMinValue();
+        long max = scaleModel.getMaxValue();
+        return min + (long) ((double) (max - min) * index / (track.getThumbCount() - 1));
+    }
+
+    public void setLeftDistanceRight(long distance) {
+        if (distance < 0) {
+            distance = DEFAULT_LEFT_RIGHT_SPACE;
+        }
+        track.setDistance(distance);
+        publishRange();
+    }
+
+    /**
+     * 当前的范围状态，包含所有指示器的进度值、边界和最小距离
+     * 返回的状态不会再变化，可以交给其它线程使用，例如用{@link RangeSelector.Range#move(int, long)}计算投影
+     * 需要在UI线程调用，拖动中调用时先发布当前显示的进度值，还没有确定尺寸时发布设置的进度值
+     */
+    public RangeSelector.Range getRangeSnapshot() {
+        if (rangeDirty || !isSized()) {
+            publishRange();
         }
+        return rangeSelector.snapshot();
+    }
+
+    /**
+     * 当前左边指示器的进度值
+     */
+    public long getLeftValue() {
+        return getThumbValue(0);
+    }
 
-        return distanceToPx;
+    /**
+     * 当前右边指示器的进度值
+     */
+    public long getRightValue() {
+        return getThumbValue(track.getThumbCount() - 1);
     }
 
     /**
      * 计算刻度值对应的px值
-     * 仅可变刻度
      */
-    private int calculatePx(int length) {
-        int position = getCurrentSpace(length);
+    private double calculatePx(long length) {
+        return scaleModel.valueToPx(length);
+    }
 
-        int resultPx = oneSpace * position;
+    /**
+     * 设置进度条背景和进度的颜色
+     * 刻度线和刻度值使用背景颜色，滑动时显示的进度值使用进度颜色
+     */
+    public void setSeekBarColor(int trackColor, int progressColor) {
+        this.trackColor = trackColor;
+        this.progressColor = progressColor;
+        initPaints();
+        if (upwardIndicator instanceof PathIndicatorRenderer) {
+            ((PathIndicatorRenderer) upwardIndicator).setColor(progressColor);
+        }
+        if (downwardIndicator instanceof PathIndicatorRenderer) {
+            ((PathIndicatorRenderer) downwardIndicator).setColor(progressColor);
+        }
+        staticLayerDirty = true;
+        invalidate();
+    }
 
-        int last = length - minValue;
-        for (int i = 0; i < position; i++) {
-            last -= spacings[i];
+    /**
+     * 设置刻度值和进度值的文字大小
+     */
+    public void setTextSize(float textSize) {
+        if (textSize <= 0 || this.textSize == textSize) {
+            return;
         }
-        resultPx += (float) last / (float) spacings[position] * oneSpace;
-        return resultPx + DEFAULT_PADDING_SPACING;
+        this.textSize = textSize;
+        initPaints();
+        labelsDirty = true;
+        staticLayerDirty = true;
+        // 刻度值的高度变化，静态图层的区域跟着变化
+        ensureStaticLayer(getWidth(), getHeight());
+        invalidate();
     }
 
     /**
-     * 获取可变长度刻度当前所在的刻度值
-     * length对应的为刻度值
+     * 是否缓存进度条背景和刻度，默认开启
+     * 缓存是一张ARGB_8888的bitmap，宽度与view相同，高度只包含刻度值到进度条底部，默认文字大小时约68像素
+     * 每个view约占用 宽度 * 68 * 4 字节，1080像素宽时约290KB，detach后也不会释放
+     * 列表中同时显示很多进度条或者内存紧张时可以关闭，关闭后每帧直接绘制刻度，绘制次数见{@link TickLayout}
      */
-    private int getCurrentSpace(int length) {
-        int position = 0;
-        int result = minValue;
-        for (int i = 0; i < spacings.length; i++) {
-            result += spacings[i];
-            if (result >= length) {
-                position = i;
-                break;
-            }
+    public void setStaticLayerEnabled(boolean enabled) {
+        if (staticLayerEnabled == enabled) {
+            return;
         }
-        return position;
+        staticLayerEnabled = enabled;
+        staticLayerDirty = true;
+        if (enabled) {
+            ensureStaticLayer(getWidth(), getHeight());
+        } else {
+            releaseStaticLayer();
+        }
+        invalidate();
     }
 
     /**
      * 设置指示器大小
+     * 图片指示器每次都从原图缩放，相同资源和尺寸的图片在所有SeekBarView之间共享
      */
     public void setBitmapSize(int width, int height) {
-        upwardBitmap = zoomImg(upwardBitmap, width, height);
-        downwardBitmap = zoomImg(downwardBitmap, width, height);
+        upwardIndicator.setSize(width, height);
+        downwardIndicator.setSize(width, height);
+        onIndicatorChanged();
+    }
 
-        requestLayout();
-        postInvalidate();
+    /**
+     * 设置左右指示器的绘制方式
+     * 例如使用{@link PathIndicatorRenderer}画箭头，不占用图片内存
+     */
+    public void setIndicatorRenderer(IndicatorRenderer upward, IndicatorRenderer downward) {
+        if (upward == null || downward == null) {
+            throw new IllegalArgumentException("SeekBarView indicator renderer is must not null");
+        }
+        upwardIndicator = upward;
+        downwardIndicator = downward;
+        onIndicatorChanged();
     }
 
-    private Bitmap zoomImg(Bitmap bm, int newWidth, int newHeight) {
-        // 获得图片的宽高
-        int width = bm.getWidth();
-        int height = bm.getHeight();
-        // 计算缩放比例
-        float scaleWidth = ((float) newWidth) / width;
-        float scaleHeight = ((float) newHeight) / height;
-        // 取得想要缩放的matrix参数
-        Matrix matrix = new Matrix();
-        matrix.postScale(scaleWidth, scaleHeight);
-        // 得到新的图片
-        return Bitmap.createBitmap(bm, 0, 0, width, height, matrix, true);
+    private void onIndicatorChanged() {
+        if (isSized()) {
+            updateGeometry(getWidth(), getHeight());
+        }
+
+        requestLayout();
+        invalidate();
     }
 
     /**
@@ -602,4 +1510,134 @@ public class SeekBarView extends View {
     public void setOnSeekBarUpdateListener(SeekBarUpdateListener listener) {
         updateListener = listener;
     }
+
+    /**
+     * 监听long类型的进度
+     * 进度值超出int范围时使用，与{@link SeekBarUpdateListener}同时回调
+     */
+    public interface SeekBarLongUpdateListener {
+        // 手指点击指示器
+        void onUpdateStart(long left, long right);
+
+        // 滑动，指示器滑动过程
+        void onUpdate(long left, long right);
+
+        // 手指离开
+        void onUpdateEnd(long left, long right);
+    }
+
+    public void setOnSeekBarLongUpdateListener(SeekBarLongUpdateListener listener) {
+        longUpdateListener = listener;
+    }
+
+    /**
+     * 监听所有指示器的进度
+     * 回调的数组在每次回调时复用，需要保存时复制一份
+     */
+    public interface SeekBarMultiUpdateListener {
+        // 手指点击指示器
+        void onUpdateStart(int[] values);
+
+        // 滑动，指示器滑动过程
+        void onUpdate(int[] values);
+
+        // 手指离开
+        void onUpdateEnd(int[] values);
+    }
+
+    public void setOnSeekBarMultiUpdateListener(SeekBarMultiUpdateListener listener) {
+        multiUpdateListener = listener;
+    }
+
+    /**
+     * 是否统计绘制、回调延迟和监听耗时等热路径数据，默认关闭
+     * 开启时统计从零开始，关闭时丢弃已有的统计
+     */
+    public void setMetricsEnabled(boolean enabled) {
+        if (enabled == (metrics != null)) {
+            return;
+        }
+        metrics = enabled ? new SeekBarMetrics() : null;
+        touchTimeNanos = 0;
+    }
+
+    /**
+     * 当前统计的副本，可以在其它线程上报
+     *
+     * @return 没有开启统计时返回null
+     */
+    public SeekBarMetrics getMetricsSnapshot() {
+        return metrics != null ? metrics.snapshot() : null;
+    }
+
+    /**
+     * 监听每次手势结束时的统计
+     */
+    public interface SeekBarMetricsListener {
+        /**
+         * 在主线程回调，metrics为累计的实时统计，不会为每次手势创建新的对象
+         * 需要保存或在其它线程上报时调用{@link SeekBarMetrics#snapshot()}，只关心单次手势时上报后调用{@link SeekBarMetrics#reset()}
+         */
+        void onGestureEnd(SeekBarMetrics metrics);
+    }
+
+    public void setOnSeekBarMetricsListener(SeekBarMetricsListener listener) {
+        metricsListener = listener;
+    }
+
+    /**
+     * 设置指示器点击区域向四周扩大的像素，默认为系统的触摸误差
+     */
+    public void setTouchTargetPadding(int padding) {
+        touchTargetPadding = Math.max(0, padding);
+    }
+
+    /**
+     * 点击进度条时最近的指示器是否跳到点击的位置，默认开启
+     */
+    public void setTrackTapEnabled(boolean enabled) {
+        trackTapEnabled = enabled;
+    }
+
+    /**
+     * 是否开启惯性滑动
+     * 开启后手指快速离开时指示器继续减速滑动，滑动结束后才回调onUpdateEnd
+     */
+    public void setFlingEnabled(boolean flingEnabled) {
+        this.flingEnabled = flingEnabled;
+        if (!flingEnabled) {
+            stopFling();
+        }
+    }
+
+    /**
+     * 一次滑动事件中的历史触摸点是否只回调最后一个
+     * 历史触摸点始终参与边界的计算，开启后只减少onUpdate的回调次数
+     */
+    public void setFinalSampleOnly(boolean finalSampleOnly) {
+        this.finalSampleOnly = finalSampleOnly;
+    }
+
+    /**
+     * 设置onUpdate的回调模式
+     *
+     * @param mode {@link #DISPATCH_MODE_IMMEDIATE}：每次滑动立即回调
+     *             {@link #DISPATCH_MODE_FRAME}：同一帧内的滑动合并，在下一帧回调一次
+     */
+    public void setDispatchMode(int mode) {
+        if (mode != DISPATCH_MODE_IMMEDIATE && mode != DISPATCH_MODE_FRAME) {
+            throw new IllegalArgumentException("SeekBarView dispatch mode is unknown: " + mode);
+        }
+        dispatchMode = mode;
+    }
+
+    /**
+     * 设置onUpdate的最小回调间隔
+     * 间隔内的进度变化会合并，onUpdateEnd始终回调最终的进度
+     *
+     * @param interval 单位ms，0表示不限制
+     */
+    public void setUpdateInterval(long interval) {
+        updateInterval = Math.max(0, interval);
+    }
 }
@@ -0,0 +1,72 @@
+package com.example.seekbar.view;
+
+/**
+ * 吸附刻度表，保存每个刻度线的x坐标和刻度值
+ * <p>
+ * 刻度或进度条的位置变化时重新计算一次，滑动时二分查找最近的刻度，复杂度O(log n)
+ * 数组在刻度个数不变大时复用
+ */
+public class SnapTable {
+    private double[] positions = new double[0];
+    private long[] values = new long[0];
+    private int size;
+
+    /**
+     * 按照刻度模型重新计算吸附点
+     * 刻度个数不能整除时最大值也作为一个吸附点
+     */
+    public void update(ScaleModel model) {
+        int count = model.getSpaceCount();
+        boolean appendMax = model.getTickValue(count) < model.getMaxValue();
+        int newSize = count + (appendMax ? 2 : 1);
+        if (positions.length < newSize) {
+            positions = new double[newSize];
+            values = new long[newSize];
+        }
+        for (int i = 0; i <= count; i++) {
+            positions[i] = model.getTickPx(i);
+            values[i] = model.getTickValue(i);
+        }
+        if (appendMax) {
+            positions[count + 1] = model.valueToPx(model.getMaxValue());
+            values[count + 1] = model.getMaxValue();
+        }
+        size = newSize;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 离x最近的吸附点，距离相等时取左边的
+     */
+    public int indexOf(double x) {
+        if (size == 0) {
+            return -1;
+        }
+        // 第一个不小于x的吸附点
+        int low = 0;
+        int high = size - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (positions[mid] < x) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        if (low > 0 && x - positions[low - 1] <= positions[low] - x) {
+            return low - 1;
+        }
+        return low;
+    }
+
+    public double getPosition(int index) {
+        return positions[index];
+    }
+
+    public long getValue(int index) {
+        return values[index];
+    }
+}
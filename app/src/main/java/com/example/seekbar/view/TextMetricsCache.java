@@ -0,0 +1,68 @@
+package com.example.seekbar.view;
+
+import android.graphics.Paint;
+import android.graphics.Typeface;
+import android.util.LruCache;
+
+/**
+ * 进程内共享的数字宽度缓存
+ * <p>
+ * 以字体和文字大小为key，每种字体和大小只测量一次数字和负号的宽度，多个SeekBarView共用
+ * 只在画笔的字体或大小变化时查找，绘制时直接使用{@link DigitAdvances}计算宽度
+ */
+public class TextMetricsCache {
+    private static final int MAX_CACHE_SIZE = 32; // 最多缓存32种字体和大小
+
+    private static final LruCache<Key, DigitAdvances> CACHE = new LruCache<>(MAX_CACHE_SIZE);
+
+    private TextMetricsCache() {}
+
+    /**
+     * 获取画笔当前字体和大小的数字宽度
+     */
+    public static DigitAdvances get(Paint paint) {
+        Key key = new Key(paint.getTypeface(), paint.getTextSize());
+        DigitAdvances digitAdvances = CACHE.get(key);
+        if (digitAdvances == null) {
+            float[] advances = new float[DigitAdvances.GLYPHS.length];
+            paint.getTextWidths(DigitAdvances.GLYPHS, 0, advances.length, advances);
+            digitAdvances = new DigitAdvances(advances);
+            CACHE.put(key, digitAdvances);
+        }
+        return digitAdvances;
+    }
+
+    /**
+     * 清空缓存，已经在使用的宽度不受影响
+     */
+    public static void clear() {
+        CACHE.evictAll();
+    }
+
+    private static class Key {
+        private final Typeface typeface;
+        private final float textSize;
+
+        Key(Typeface typeface, float textSize) {
+            this.typeface = typeface;
+            this.textSize = textSize;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return textSize == key.textSize && (typeface == null ? key.typeface == null : typeface.equals(key.typeface));
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (typeface == null ? 0 : typeface.hashCode()) + Float.floatToIntBits(textSize);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.seekbar.view;
+
+/**
+ * 多个指示器的排列规则
+ * <p>
+ * 指示器从左到右排列，相邻的指示器之间至少间隔distance，所有指示器都在最小值和最大值之间
+ */
+public final class ThumbConstraints {
+
+    private ThumbConstraints() {}
+
+    /**
+     * 离x最近的指示器，二分查找，复杂度O(log K)
+     *
+     * @param positions 从左到右排列的指示器x坐标
+     * @return 距离相等时取左边的指示器
+     */
+    public static int nearest(double[] positions, double x) {
+        int low = 0;
+        int high = positions.length - 1;
+        // 第一个不小于x的指示器
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (positions[mid] < x) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        if (low > 0 && x - positions[low - 1] <= positions[low] - x) {
+            return low - 1;
+        }
+        return low;
+    }
+
+    /**
+     * 调整进度值，使其满足排列规则
+     * 先从左到右把每个进度值推到左边邻居加distance之后，再从右到左拉回到右边邻居减distance之前
+     *
+     * @param values 会被直接修改
+     * @throws IllegalArgumentException 最小值到最大值之间放不下所有指示器时抛出
+     */
+    public static void solve(long[] values, long distance, long min, long max) {
+        int count = values.length;
+        if (count == 0) {
+            return;
+        }
+        if ((double) distance * (count - 1) > (double) max - min) {
+            throw new IllegalArgumentException("SeekBarView thumbs is too many for distance: " + distance);
+        }
+        long lower = min;
+        for (int i = 0; i < count; i++) {
+            if (values[i] < lower) {
+                values[i] = lower;
+            }
+            lower = values[i] + distance;
+        }
+        long upper = max;
+        for (int i = count - 1; i >= 0; i--) {
+            if (values[i] > upper) {
+                values[i] = upper;
+            }
+            upper = values[i] - distance;
+        }
+    }
+
+    /**
+     * 与{@link #solve}相同，最小值到最大值之间放不下所有指示器时不抛出异常，只限制在最小值和最大值之间
+     *
+     * @param values 会被直接修改
+     */
+    public static void arrange(long[] values, long distance, long min, long max) {
+        if ((double) distance * (values.length - 1) <= (double) max - min) {
+            solve(values, distance, min, max);
+        } else {
+            solve(values, 0, min, max);
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package com.example.seekbar.view;
+
+/**
+ * 指示器在进度条上的位置，以及拖动时的边界和相邻指示器最小距离的限制
+ * <p>
+ * 位置是可变的，只能在一个线程中使用，通常是UI线程，拖动时不分配内存
+ * 进度值由刻度模型换算，开启吸附时取最近的刻度值，排列规则与{@link ThumbConstraints}相同
+ * 需要交给其它线程时，把进度值通过{@link RangeSelector#publish}发布成不可变的{@link RangeSelector.Range}
+ */
+public final class ThumbTrack {
+    private final ScaleModel scale;
+    private final SnapTable snapTable = new SnapTable();
+    private boolean snapTableDirty = true;
+    private boolean snapToTick;
+    private double[] positions; // 指示器的x坐标，从左到右排列
+    private long distance; // 相邻指示器的最小距离
+
+    /**
+     * 所有指示器都在x坐标0，由调用方在确定尺寸后放置
+     *
+     * @param scale 与调用方共用的刻度模型，刻度或尺寸变化后需要调用{@link #onScaleChanged()}
+     * @throws IllegalArgumentException 指示器少于2个或者distance小于0时抛出
+     */
+    public ThumbTrack(ScaleModel scale, int thumbCount, long distance) {
+        this.scale = scale;
+        setThumbCount(thumbCount);
+        setDistance(distance);
+    }
+
+    public int getThumbCount() {
+        return positions.length;
+    }
+
+    /**
+     * 设置指示器的个数，所有指示器回到x坐标0
+     *
+     * @throws IllegalArgumentException 指示器少于2个时抛出
+     */
+    public void setThumbCount(int thumbCount) {
+        if (thumbCount < 2) {
+            throw new IllegalArgumentException("SeekBarView thumb count is must not less 2");
+        }
+        positions = new double[thumbCount];
+    }
+
+    public double getPosition(int index) {
+        return positions[index];
+    }
+
+    /**
+     * 直接放置指示器，不经过限制，用于按照设置的进度值放置
+     */
+    public void setPosition(int index, double x) {
+        positions[index] = x;
+    }
+
+    /**
+     * 复制所有指示器的x坐标到out的开头
+     */
+    public void copyPositions(double[] out) {
+        System.arraycopy(positions, 0, out, 0, positions.length);
+    }
+
+    public long getDistance() {
+        return distance;
+    }
+
+    /**
+     * 设置相邻指示器的最小距离，已经放置的指示器不移动，下次拖动时生效
+     *
+     * @throws IllegalArgumentException distance小于0时抛出
+     */
+    public void setDistance(long distance) {
+        if (distance < 0) {
+            throw new IllegalArgumentException("SeekBarView distance is must not less 0");
+        }
+        this.distance = distance;
+    }
+
+    public boolean isSnapToTick() {
+        return snapToTick;
+    }
+
+    /**
+     * 开启后进度值取离x坐标最近的刻度值
+     */
+    public void setSnapToTick(boolean snapToTick) {
+        this.snapToTick = snapToTick;
+    }
+
+    /**
+     * 刻度、尺寸或精确模式变化后调用，吸附点在下次使用时重新计算
+     */
+    public void onScaleChanged() {
+        snapTableDirty = true;
+    }
+
+    /**
+     * x坐标对应的进度值
+     */
+    public long valueAt(double x) {
+        if (snapToTick) {
+            SnapTable table = getSnapTable();
+            return table.getValue(table.indexOf(x));
+        }
+        return scale.pxToValue(x);
+    }
+
+    /**
+     * 第index个指示器当前的进度值
+     */
+    public long getValue(int index) {
+        return valueAt(positions[index]);
+    }
+
+    /**
+     * 离x最近的指示器，见{@link ThumbConstraints#nearest}
+     */
+    public int nearest(double x) {
+        return ThumbConstraints.nearest(positions, x);
+    }
+
+    /**
+     * 拖动第index个指示器到x，位置经过{@link #constrain}限制
+     * 非精确模式下x先截断为整数，与原有的int坐标保持一致
+     *
+     * @return 实际停留的x坐标
+     */
+    public double move(int index, double x) {
+        if (!scale.isPrecise()) {
+            x = (int) x;
+        }
+        double newX = constrain(index, x);
+        positions[index] = newX;
+        return newX;
+    }
+
+    /**
+     * 计算第index个指示器拖动到x时实际的位置，不修改位置
+     * 所有指示器都限制在左右边界之间，不越过相邻的指示器，进度值与相邻指示器的差不小于distance
+     * 被挡住时停在满足distance的最近的位置，开启吸附时停在满足distance的最近的吸附点
+     * 相邻的指示器之间放不下时不移动
+     */
+    public double constrain(int index, double x) {
+        int last = positions.length - 1;
+        double start = scale.getStartPx();
+        double end = start + scale.getWidth();
+        // 可变刻度和非线性刻度的换算有误差，位置仍然不能超出边界和相邻的指示器
+        double min = index > 0 ? Math.max(start, positions[index - 1]) : start;
+        double max = index < last ? Math.min(end, positions[index + 1]) : end;
+        long lower = index > 0 ? Math.max(scale.getMinValue(), getValue(index - 1) + distance) : scale.getMinValue();
+        long upper = index < last ? Math.min(scale.getMaxValue(), getValue(index + 1) - distance) : scale.getMaxValue();
+        if (lower > upper || min > max) {
+            return positions[index];
+        }
+        double target = Math.max(min, Math.min(max, x));
+        long value = valueAt(target);
+        if (value >= lower && value <= upper) {
+            return target;
+        }
+        if (snapToTick) {
+            target = getSnapTarget(index, target);
+        } else if (value < lower) { // 被左边的指示器挡住
+            target = blockedAt(lower, true, min, max);
+        } else { // 被右边的指示器挡住
+            target = blockedAt(upper, false, min, max);
+        }
+        target = Math.max(min, Math.min(max, target));
+        value = valueAt(target);
+        if (value < lower || value > upper) {
+            // 没有满足distance的位置，例如吸附点或像素比进度值稀疏
+            return positions[index];
+        }
+        return target;
+    }
+
+    /**
+     * 离x最近的、满足相邻指示器最小距离的吸附点的x坐标
+     */
+    public double getSnapTarget(int index, double x) {
+        SnapTable table = getSnapTable();
+        int snap = table.indexOf(x);
+        if (index < positions.length - 1) {
+            long rightSeek = getValue(index + 1);
+            while (snap > 0 && table.getValue(snap) + distance > rightSeek) {
+                snap--;
+            }
+        }
+        if (index > 0) {
+            long leftSeek = getValue(index - 1);
+            while (snap < table.size() - 1 && table.getValue(snap) - distance < leftSeek) {
+                snap++;
+            }
+        }
+        return table.getPosition(snap);
+    }
+
+    /**
+     * 被相邻的指示器挡住时停留的位置，即进度值bound对应的x坐标
+     * 非精确模式下px与进度值的换算会差1，从这个位置向远离相邻指示器的方向逐像素找到满足bound的位置
+     *
+     * @param fromLeft 是否被左边的指示器挡住
+     */
+    private double blockedAt(long bound, boolean fromLeft, double min, double max) {
+        double x = scale.valueToPx(bound);
+        if (scale.isPrecise()) {
+            return x;
+        }
+        if (fromLeft) {
+            while (x < max && valueAt(x) < bound) {
+                x++;
+            }
+        } else {
+            while (x > min && valueAt(x) > bound) {
+                x--;
+            }
+        }
+        return x;
+    }
+
+    private SnapTable getSnapTable() {
+        if (snapTableDirty) {
+            snapTable.update(scale);
+            snapTableDirty = false;
+        }
+        return snapTable;
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.seekbar.view;
+
+/**
+ * 刻度的细节层次，刻度过密时只画部分刻度线和刻度值
+ * <p>
+ * 刻度线之间至少间隔minTickPitch像素，刻度值之间至少间隔一个刻度值的宽度
+ * 间隔的刻度个数取1、2、5乘以10的n次方，画出的刻度个数只与进度条的宽度有关
+ */
+public class TickLayout {
+    private static final int[] NICE_FACTORS = {1, 2, 5};
+
+    private int tickStep = 1; // 每隔多少个刻度画一条刻度线
+    private int labelStep = 1; // 每隔多少个刻度画一个刻度值，是tickStep的整数倍
+
+    /**
+     * 重新计算刻度线和刻度值的间隔
+     *
+     * @param spaceCount   刻度间隔的个数
+     * @param width        进度条的宽度
+     * @param minTickPitch 刻度线之间的最小像素间距
+     * @param labelPitch   刻度值之间的最小像素间距，即最宽的刻度值加上留白
+     * @return 间隔是否发生了变化
+     */
+    public boolean update(int spaceCount, float width, float minTickPitch, float labelPitch) {
+        int oldTickStep = tickStep;
+        int oldLabelStep = labelStep;
+        if (spaceCount <= 0 || width <= 0) {
+            tickStep = 1;
+            labelStep = 1;
+        } else {
+            float spacePx = width / spaceCount;
+            tickStep = niceStep(minTickPitch / spacePx, 1);
+            labelStep = niceStep(labelPitch / spacePx, tickStep);
+        }
+        return oldTickStep != tickStep || oldLabelStep != labelStep;
+    }
+
+    public int getTickStep() {
+        return tickStep;
+    }
+
+    public int getLabelStep() {
+        return labelStep;
+    }
+
+    /**
+     * 是否在第index个刻度上画刻度值
+     */
+    public boolean isLabel(int index) {
+        return index % labelStep == 0;
+    }
+
+    /**
+     * 计算不小于minStep的、为multiple整数倍的最小间隔
+     * 间隔取1、2、5乘以10的n次方
+     */
+    static int niceStep(double minStep, int multiple) {
+        long magnitude = 1;
+        while (true) {
+            for (int factor : NICE_FACTORS) {
+                long step = factor * magnitude;
+                if (step >= Integer.MAX_VALUE) {
+                    return Integer.MAX_VALUE;
+                }
+                if (step >= minStep && step % multiple == 0) {
+                    return (int) step;
+                }
+            }
+            magnitude *= 10;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.seekbar.view;
+
+import org.junit.Assume;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * 统计当前线程分配的内存，确认绘制和滑动的热路径不分配内存
+ */
+final class AllocationCounter {
+    private static final int WARMUP = 50; // 预热次数，排除类加载、第一次使用时的分配和JIT编译时的分配
+
+    private AllocationCounter() {}
+
+    /**
+     * 预热后再执行一次action，这一次当前线程不能分配内存
+     * JVM不支持统计线程分配的内存时跳过测试
+     */
+    static void assertNoAllocation(Runnable action) {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) bean;
+        Assume.assumeTrue(threadBean.isThreadAllocatedMemorySupported());
+        threadBean.setThreadAllocatedMemoryEnabled(true);
+
+        for (int i = 0; i < WARMUP; i++) {
+            action.run();
+        }
+        long threadId = Thread.currentThread().getId();
+        long before = threadBean.getThreadAllocatedBytes(threadId);
+        action.run();
+        long after = threadBean.getThreadAllocatedBytes(threadId);
+
+        assertEquals("allocated bytes", 0, after - before);
+    }
+}
@@ -0,0 +1,174 @@
+package com.example.seekbar.view;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 异步回调测试
+ */
+public class AsyncSeekBarUpdateListenerTest {
+
+    @Test
+    public void slowConsumer_onlyGetsLatestUpdate() {
+        ManualExecutor executor = new ManualExecutor();
+        RecordingListener recorder = new RecordingListener();
+        AsyncSeekBarUpdateListener listener = new AsyncSeekBarUpdateListener(recorder, executor);
+
+        listener.onUpdateStart(0, 100);
+        listener.onUpdate(10, 100);
+        listener.onUpdate(20, 100);
+        listener.onUpdate(30, 100);
+        listener.onUpdateEnd(30, 100);
+
+        assertEquals(1, executor.tasks.size());
+        executor.runAll();
+
+        assertEquals("start 0 100, update 30 100, end 30 100", recorder.toString());
+        assertEquals(2, listener.getDroppedCount());
+    }
+
+    @Test
+    public void stalledConsumer_staysBoundedAcrossGestures() {
+        ManualExecutor executor = new ManualExecutor();
+        RecordingListener recorder = new RecordingListener();
+        AsyncSeekBarUpdateListener listener = new AsyncSeekBarUpdateListener(recorder, executor);
+
+        for (int gesture = 0; gesture < 1000; gesture++) {
+            listener.onUpdateStart(gesture, 100);
+            for (int i = 0; i < 10; i++) {
+                listener.onUpdate(gesture, i);
+            }
+            listener.onUpdateEnd(gesture, 100);
+        }
+
+        assertEquals(1, executor.tasks.size());
+        executor.runAll();
+
+        assertEquals("start 0 100, update 999 9, end 999 100", recorder.toString());
+        assertEquals(999, listener.getMergedGestureCount());
+        assertEquals(10000 - 1, listener.getDroppedCount());
+    }
+
+    @Test
+    public void stalledDuringStart_mergesIntoOpenGesture() {
+        ManualExecutor executor = new ManualExecutor();
+        RecordingListener recorder = new RecordingListener();
+        AsyncSeekBarUpdateListener listener = new AsyncSeekBarUpdateListener(recorder, executor);
+
+        listener.onUpdateStart(0, 100);
+        executor.runAll();
+        listener.onUpdate(10, 100);
+        listener.onUpdateEnd(10, 100);
+        listener.onUpdateStart(10, 100);
+        listener.onUpdate(20, 100);
+        listener.onUpdateEnd(20, 100);
+        executor.runAll();
+        listener.onUpdateStart(20, 100);
+        listener.onUpdateEnd(20, 100);
+        executor.runAll();
+
+        assertEquals("start 0 100, update 20 100, end 20 100, start 20 100, end 20 100", recorder.toString());
+        assertEquals(1, listener.getMergedGestureCount());
+    }
+
+    @Test
+    public void fastConsumer_getsEveryUpdate() {
+        ManualExecutor executor = new ManualExecutor();
+        RecordingListener recorder = new RecordingListener();
+        AsyncSeekBarUpdateListener listener = new AsyncSeekBarUpdateListener(recorder, executor);
+
+        listener.onUpdateStart(0, 100);
+        executor.runAll();
+        listener.onUpdate(10, 100);
+        executor.runAll();
+        listener.onUpdate(20, 100);
+        executor.runAll();
+        listener.onUpdateEnd(20, 100);
+        executor.runAll();
+
+        assertEquals("start 0 100, update 10 100, update 20 100, end 20 100", recorder.toString());
+        assertEquals(0, listener.getDroppedCount());
+    }
+
+    @Test
+    public void threadPool_deliversInOrder() throws InterruptedException {
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        final CountDownLatch ended = new CountDownLatch(1);
+        RecordingListener recorder = new RecordingListener() {
+            @Override
+            public void onUpdateEnd(int left, int right) {
+                super.onUpdateEnd(left, right);
+                ended.countDown();
+            }
+        };
+        AsyncSeekBarUpdateListener listener = new AsyncSeekBarUpdateListener(recorder, pool);
+
+        listener.onUpdateStart(0, 100);
+        for (int i = 1; i <= 1000; i++) {
+            listener.onUpdate(i % 100, 100);
+        }
+        listener.onUpdateEnd(50, 100);
+
+        assertTrue(ended.await(5, TimeUnit.SECONDS));
+        pool.shutdown();
+        List<String> events = recorder.events;
+        assertEquals("start 0 100", events.get(0));
+        assertEquals("end 50 100", events.get(events.size() - 1));
+        assertEquals(1000, events.size() - 2 + listener.getDroppedCount());
+    }
+
+    private static class ManualExecutor implements java.util.concurrent.Executor {
+        final List<Runnable> tasks = new ArrayList<>();
+
+        @Override
+        public void execute(Runnable command) {
+            tasks.add(command);
+        }
+
+        void runAll() {
+            while (!tasks.isEmpty()) {
+                tasks.remove(0).run();
+            }
+        }
+    }
+
+    private static class RecordingListener implements SeekBarView.SeekBarUpdateListener {
+        final List<String> events = new ArrayList<>();
+
+        @Override
+        public void onUpdateStart(int left, int right) {
+            events.add("start " + left + " " + right);
+        }
+
+        @Override
+        public void onUpdate(int left, int right) {
+            events.add("update " + left + " " + right);
+        }
+
+        @Override
+        public void onUpdateEnd(int left, int right) {
+            events.add("end " + left + " " + right);
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder builder = new StringBuilder();
+            for (String event : events) {
+                if (builder.length() > 0) {
+                    builder.append(", ");
+                }
+                builder.append(event);
+            }
+            return builder.toString();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.seekbar.view;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * 数字宽度相加测试
+ */
+public class DigitAdvancesTest {
+    // 数字i的宽度为i + 1，负号宽度为20，方便区分每个字符
+    private final DigitAdvances advances = new DigitAdvances(
+            new float[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 20});
+
+    @Test
+    public void measure_sumsDigitAdvances() {
+        assertEquals(1f, advances.measure(0), 0f);
+        assertEquals(10f, advances.measure(9), 0f);
+        assertEquals(2f + 1f, advances.measure(10), 0f);
+        assertEquals(2f + 3f + 4f + 5f, advances.measure(1234), 0f);
+    }
+
+    @Test
+    public void measure_negativeAddsMinus() {
+        assertEquals(20f + 6f, advances.measure(-5), 0f);
+        assertEquals(20f + 2f + 1f + 1f, advances.measure(-100), 0f);
+    }
+
+    @Test
+    public void measure_matchesFormattedChars() {
+        char[] buffer = new char[NumberChars.MAX_LENGTH];
+        long[] values = {Long.MIN_VALUE, Long.MAX_VALUE, -1, 7, 1000000007L};
+        for (long value : values) {
+            int length = NumberChars.format(value, buffer);
+            float expected = 0;
+            for (int i = 0; i < length; i++) {
+                expected += buffer[i] == '-' ? 20 : buffer[i] - '0' + 1;
+            }
+            assertEquals(String.valueOf(value), expected, advances.measure(value), 0f);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void wrongSize_throws() {
+        new DigitAdvances(new float[10]);
+    }
+}
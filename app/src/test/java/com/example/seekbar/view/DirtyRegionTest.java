@@ -0,0 +1,48 @@
+package com.example.seekbar.view;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 局部刷新区域测试
+ */
+public class DirtyRegionTest {
+
+    @Test
+    public void union_coversAllRects() {
+        DirtyRegion region = new DirtyRegion();
+        region.union(10, 20, 30, 40);
+        region.union(25, 5, 50, 30);
+
+        assertEquals(10, region.getLeft());
+        assertEquals(5, region.getTop());
+        assertEquals(50, region.getRight());
+        assertEquals(40, region.getBottom());
+        assertEquals(40 * 35, region.getArea());
+    }
+
+    @Test
+    public void emptyRects_ignored() {
+        DirtyRegion region = new DirtyRegion();
+        region.union(10, 10, 10, 20);
+
+        assertTrue(region.isEmpty());
+        assertEquals(0, region.getArea());
+    }
+
+    @Test
+    public void clip_limitsToView() {
+        DirtyRegion region = new DirtyRegion();
+        region.union(-10, -10, 50, 50);
+        region.clip(40, 30);
+
+        assertEquals(40 * 30, region.getArea());
+
+        region.reset();
+        region.union(100, 100, 120, 120);
+        region.clip(40, 30);
+        assertTrue(region.isEmpty());
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.seekbar.view;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 绘制和滑动过程中用到的换算不能分配内存
+ */
+public class NumberCharsTest {
+
+    @Test
+    public void format_writesDigits() {
+        char[] buffer = new char[NumberChars.MAX_LENGTH];
+
+        assertFormat("0", 0, buffer);
+        assertFormat("7", 7, buffer);
+        assertFormat("120", 120, buffer);
+        assertFormat("-45", -45, buffer);
+        assertFormat(String.valueOf(Long.MAX_VALUE), Long.MAX_VALUE, buffer);
+        assertFormat(String.valueOf(Long.MIN_VALUE), Long.MIN_VALUE, buffer);
+    }
+
+    @Test
+    public void hotPath_allocatesNothing() {
+        final ScaleModel model = new ScaleModel(0, 100, 10);
+        model.setSpacing(20, 10, 20, 20, 30, 30, 40, 30);
+        model.setBounds(40, 700);
+        final char[] buffer = new char[NumberChars.MAX_LENGTH];
+        final long[] checksum = new long[1];
+
+        AllocationCounter.assertNoAllocation(new Runnable() {
+            @Override
+            public void run() {
+                checksum[0] += simulateDrag(model, buffer);
+            }
+        });
+        assertTrue(checksum[0] > 0);
+    }
+
+    private static long simulateDrag(ScaleModel model, char[] buffer) {
+        long checksum = 0;
+        for (int x = 0; x < 800; x++) {
+            long value = model.pxToValue(x);
+            checksum += model.valueToPx(value);
+            checksum += NumberChars.format(value, buffer);
+        }
+        return checksum;
+    }
+
+    private static void assertFormat(String expected, long value, char[] buffer) {
+        int length = NumberChars.format(value, buffer);
+        assertEquals(expected, new String(buffer, 0, length));
+    }
+}
@@ -0,0 +1,176 @@
+package com.example.seekbar.view;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 范围选择测试
+ */
+public class RangeSelectorTest {
+
+    @Test
+    public void newSelector_spreadsThumbs() {
+        RangeSelector.Range range = new RangeSelector(0, 100, 5, 5).snapshot();
+
+        assertEquals(5, range.getThumbCount());
+        assertEquals(0, range.getLeft());
+        assertEquals(25, range.getValue(1));
+        assertEquals(50, range.getValue(2));
+        assertEquals(75, range.getValue(3));
+        assertEquals(100, range.getRight());
+    }
+
+    @Test
+    public void move_stopsAtNeighborAndBounds() {
+        RangeSelector selector = new RangeSelector(0, 100, 5, 2);
+
+        assertEquals(40, selector.moveLeft(40).getLeft());
+        assertEquals(95, selector.moveLeft(99).getLeft());
+        assertEquals(100, selector.moveRight(120).getRight());
+        assertEquals(100, selector.moveRight(90).getRight());
+        assertEquals(0, selector.moveLeft(-10).getLeft());
+        assertEquals(5, selector.moveRight(1).getRight());
+    }
+
+    @Test
+    public void move_unchangedValue_returnsSameRange() {
+        RangeSelector selector = new RangeSelector(0, 100, 5, 2);
+        RangeSelector.Range before = selector.snapshot();
+
+        assertSame(before, selector.moveLeft(0));
+        assertSame(before, selector.moveRight(200));
+    }
+
+    @Test
+    public void snapshot_isImmutable() {
+        RangeSelector selector = new RangeSelector(0, 100, 5, 2);
+        RangeSelector.Range before = selector.snapshot();
+        selector.moveLeft(30);
+
+        assertEquals(0, before.getLeft());
+        assertEquals(30, selector.snapshot().getLeft());
+    }
+
+    @Test
+    public void projection_doesNotChangeSelector() {
+        RangeSelector selector = new RangeSelector(0, 100, 5, 2);
+        RangeSelector.Range projected = selector.snapshot().move(0, 60);
+
+        assertEquals(60, projected.getLeft());
+        assertEquals(0, selector.snapshot().getLeft());
+        assertEquals(95, projected.clamp(0, 100));
+    }
+
+    @Test
+    public void setValues_solvesConstraints() {
+        RangeSelector selector = new RangeSelector(0, 100, 10, 3);
+        RangeSelector.Range range = selector.setValues(50, 50, 50);
+
+        assertEquals(50, range.getValue(0));
+        assertEquals(60, range.getValue(1));
+        assertEquals(70, range.getValue(2));
+    }
+
+    @Test
+    public void publish_keepsExactValues() {
+        RangeSelector selector = new RangeSelector(0, 100, 5, 2);
+        RangeSelector.Range range = selector.publish(0, 100, 5, new long[]{10, 12});
+
+        assertEquals(10, range.getLeft());
+        assertEquals(12, range.getRight());
+        assertSame(range, selector.publish(0, 100, 5, new long[]{10, 12}));
+        assertEquals(3, selector.publish(0, 200, 5, new long[]{10, 12, 14}).getThumbCount());
+    }
+
+    @Test
+    public void setRange_rearrangesValues() {
+        RangeSelector selector = new RangeSelector(0, 100, 5, 2);
+        selector.setValues(20, 80);
+        RangeSelector.Range range = selector.setRange(30, 60);
+
+        assertEquals(30, range.getLeft());
+        assertEquals(60, range.getRight());
+    }
+
+    @Test
+    public void setDistance_tooLarge_onlyClampsToBounds() {
+        RangeSelector selector = new RangeSelector(0, 100, 5, 3);
+        RangeSelector.Range range = selector.setDistance(80);
+
+        assertEquals(80, range.getDistance());
+        assertEquals(0, range.getValue(0));
+        assertEquals(50, range.getValue(1));
+        assertEquals(100, range.getValue(2));
+    }
+
+    @Test
+    public void setThumbCount_resetsValues() {
+        RangeSelector selector = new RangeSelector(0, 90, 5, 2);
+        selector.setValues(10, 20);
+        RangeSelector.Range range = selector.setThumbCount(4);
+
+        assertEquals(4, range.getThumbCount());
+        assertEquals(0, range.getValue(0));
+        assertEquals(30, range.getValue(1));
+        assertEquals(60, range.getValue(2));
+        assertEquals(90, range.getValue(3));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void minNotLessThanMax_throws() {
+        new RangeSelector(10, 10, 0, 2);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void wrongValueCount_throws() {
+        new RangeSelector(0, 100, 5, 2).setValues(1, 2, 3);
+    }
+
+    @Test
+    public void concurrentMoves_keepConstraints() throws Exception {
+        final RangeSelector selector = new RangeSelector(0, 10000, 7, 6);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Void>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                final long seed = t;
+                futures.add(executor.submit(new Callable<Void>() {
+                    @Override
+                    public Void call() {
+                        Random random = new Random(seed);
+                        for (int i = 0; i < 20000; i++) {
+                            RangeSelector.Range range = selector.move(random.nextInt(6), random.nextInt(10001));
+                            assertArranged(range);
+                        }
+                        return null;
+                    }
+                }));
+            }
+            for (Future<Void> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertArranged(selector.snapshot());
+    }
+
+    private static void assertArranged(RangeSelector.Range range) {
+        assertTrue(range.getLeft() >= range.getMin());
+        assertTrue(range.getRight() <= range.getMax());
+        for (int i = 1; i < range.getThumbCount(); i++) {
+            assertTrue(range.toString(), range.getValue(i) - range.getValue(i - 1) >= range.getDistance());
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.seekbar.view;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 非线性刻度映射测试
+ */
+public class ScaleMappingTest {
+
+    @Test
+    public void linear_matchesRange() {
+        LinearScaleMapping mapping = new LinearScaleMapping(-100, 100);
+
+        assertEquals(0.5, mapping.toFraction(0), 1e-12);
+        assertEquals(50, mapping.toValue(0.75), 1e-9);
+    }
+
+    @Test
+    public void log_equalRatiosEqualDistance() {
+        LogScaleMapping mapping = new LogScaleMapping(1, 1_000_000);
+
+        assertEquals(0, mapping.toFraction(1), 1e-12);
+        assertEquals(0.5, mapping.toFraction(1000), 1e-12);
+        assertEquals(1, mapping.toFraction(1_000_000), 1e-12);
+        assertEquals(100, mapping.toValue(1 / 3.0), 1e-6);
+        assertEquals(1_000_000, mapping.toValue(1), 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void log_nonPositiveMin_throws() {
+        new LogScaleMapping(0, 100);
+    }
+
+    @Test
+    public void piecewise_interpolatesSegments() {
+        PiecewiseScaleMapping mapping = new PiecewiseScaleMapping(
+                new long[]{0, 100, 1000, 10000}, new double[]{0, 0.5, 0.75, 1});
+
+        assertEquals(0.25, mapping.toFraction(50), 1e-12);
+        assertEquals(0.625, mapping.toFraction(550), 1e-12);
+        assertEquals(5500, mapping.toValue(0.875), 1e-9);
+        for (long value = 0; value <= 10000; value += 37) {
+            assertEquals(value, mapping.toValue(mapping.toFraction(value)), 1e-6);
+        }
+    }
+
+    @Test
+    public void piecewise_ofSpacingMatchesVariableScale() {
+        int[] spacings = {10, 20, 20, 30, 30, 40, 30};
+        long[] longSpacings = {10, 20, 20, 30, 30, 40, 30};
+        ScaleModel variable = new ScaleModel(0, 100, 10);
+        variable.setSpacing(20, spacings);
+        variable.setBounds(40, 700);
+        variable.setPrecise(true);
+        ScaleModel mapped = new ScaleModel(0, 100, 10);
+        mapped.setMapping(PiecewiseScaleMapping.ofSpacing(20, longSpacings), spacings.length);
+        mapped.setBounds(40, 700);
+        mapped.setPrecise(true);
+
+        assertEquals(variable.getMaxValue(), mapped.getMaxValue());
+        for (int i = 0; i <= spacings.length; i++) {
+            assertEquals(variable.getTickValue(i), mapped.getTickValue(i));
+            assertEquals(variable.getTickPx(i), mapped.getTickPx(i), 1e-3f);
+        }
+        for (int x = 40; x <= 740; x++) {
+            // 两种算法的浮点误差不同，正好在四舍五入的边界上时可能相差1
+            assertEquals("x=" + x, variable.pxToValue(x), mapped.pxToValue(x), 1);
+        }
+    }
+
+    @Test
+    public void scaleModel_usesMapping() {
+        ScaleModel model = new ScaleModel(0, 100, 10);
+        model.setMapping(new LogScaleMapping(10, 100_000), 4);
+        model.setBounds(40, 1000);
+
+        assertTrue(model.isVariable());
+        assertEquals(4, model.getSpaceCount());
+        assertEquals(10, model.getMinValue());
+        assertEquals(100_000, model.getMaxValue());
+        assertEquals(1000, model.getTickValue(2));
+        assertEquals(540, model.getTickPx(2), 0f);
+        assertEquals(540, model.valueToPx(1000), 0f);
+        assertEquals(1000, model.pxToValue(540));
+        // 超出进度条的位置取最小值和最大值
+        assertEquals(10, model.pxToValue(0));
+        assertEquals(100_000, model.pxToValue(2000));
+
+        model.setRange(0, 100, 10);
+        assertEquals(null, model.getMapping());
+        assertEquals(10, model.getSpaceCount());
+    }
+}
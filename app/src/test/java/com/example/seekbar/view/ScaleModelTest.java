@@ -0,0 +1,204 @@
+package com.example.seekbar.view;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 刻度换算测试
+ */
+public class ScaleModelTest {
+
+    @Test
+    public void fixedSpacing_mapsLinear() {
+        ScaleModel model = new ScaleModel(0, 100, 10);
+        model.setBounds(40, 1000);
+
+        assertFalse(model.isVariable());
+        assertEquals(10, model.getSpaceCount());
+        assertEquals(100, model.getOneSpace(), 0f);
+        assertEquals(40, model.valueToPx(0), 0f);
+        assertEquals(540, model.valueToPx(50), 0f);
+        assertEquals(1040, model.valueToPx(100), 0f);
+        assertEquals(50, model.pxToValue(540));
+        assertEquals(30, model.getTickValue(3));
+        assertEquals(340, model.getTickPx(3), 0f);
+    }
+
+    @Test
+    public void variableSpacing_matchesLinearScan() {
+        int[] spacings = {10, 20, 20, 30, 30, 40, 30};
+        ScaleModel model = new ScaleModel(0, 100, 10);
+        model.setSpacing(20, spacings);
+        model.setBounds(40, 700);
+
+        assertTrue(model.isVariable());
+        assertEquals(200, model.getMaxValue());
+        for (int x = 40; x <= 740; x++) {
+            assertEquals("x=" + x, linearPxToValue(20, spacings, 100, x - 40), model.pxToValue(x));
+        }
+        for (int value = 20; value <= 200; value++) {
+            assertEquals("value=" + value, linearValueToPx(20, spacings, 100, value) + 40, model.valueToPx(value), 0f);
+        }
+    }
+
+    @Test
+    public void variableSpacing_copiesCallerArray() {
+        int[] spacings = {10, 20};
+        ScaleModel model = new ScaleModel(0, 100, 10);
+        model.setSpacing(0, spacings);
+        spacings[0] = 1000;
+
+        assertEquals(10, model.getTickValue(1));
+        assertEquals(30, model.getMaxValue());
+    }
+
+    @Test
+    public void unmeasured_returnsMin() {
+        ScaleModel model = new ScaleModel(0, 100, 10);
+        model.setSpacing(5, 10, 10);
+
+        assertEquals(5, model.pxToValue(100));
+    }
+
+    @Test
+    public void precise_keepsSubPixel() {
+        ScaleModel model = new ScaleModel(0, 3, 1);
+        model.setBounds(40.5f, 100);
+        model.setPrecise(true);
+
+        assertEquals(100 / 3f, model.getOneSpace(), 1e-4f);
+        assertEquals(40.5f + 100 / 3f, model.valueToPx(1), 1e-4f);
+        assertEquals(1, model.pxToValue(40.5f + 100 / 3f));
+        // 非精确模式截断为整数
+        model.setPrecise(false);
+        assertEquals(73, model.valueToPx(1), 0f);
+    }
+
+    @Test
+    public void precise_largeRangeRoundTrip() {
+        ScaleModel model = new ScaleModel(1_500_000_000_000L, 1_500_002_000_000L, 100_000);
+        model.setBounds(40, 1000);
+        model.setPrecise(true);
+
+        for (long value = model.getMinValue(); value <= model.getMaxValue(); value += 12_345) {
+            assertEquals(value, model.pxToValue(model.valueToPx(value)));
+        }
+        assertEquals(model.getMaxValue(), model.pxToValue(1040));
+        assertEquals(model.getMinValue(), model.pxToValue(40));
+    }
+
+    @Test
+    public void precise_oneDayOfMillisRoundTrip() {
+        // 一天的毫秒时间戳，每个像素约9万，float坐标换算回来会差几个毫秒
+        long start = 1_700_000_000_000L;
+        ScaleModel model = new ScaleModel(start, start + 86_400_000L, 3_600_000L);
+        model.setBounds(40, 1000);
+        model.setPrecise(true);
+
+        for (long value = model.getMinValue(); value <= model.getMaxValue(); value += 9_973) {
+            assertEquals(value, model.pxToValue(model.valueToPx(value)));
+        }
+        assertEquals(model.getMaxValue(), model.pxToValue(model.valueToPx(model.getMaxValue())));
+
+        model.setSpacing(start, 3_600_000L, 82_800_000L);
+        for (long value = model.getMinValue(); value <= model.getMaxValue(); value += 9_973) {
+            assertEquals(value, model.pxToValue(model.valueToPx(value)));
+        }
+    }
+
+    @Test
+    public void precise_variableRoundTrip() {
+        ScaleModel model = new ScaleModel(0, 100, 10);
+        model.setSpacing(0L, 1_000_000L, 3L, 2_000_000L, 7L);
+        model.setBounds(0, 1000);
+        model.setPrecise(true);
+
+        for (int i = 0; i <= 4; i++) {
+            long value = model.getTickValue(i);
+            assertEquals(i * 250, model.valueToPx(value), 1e-3f);
+            assertEquals(value, model.pxToValue(model.valueToPx(value)));
+        }
+        // 刻度内按照比例换算并四舍五入
+        assertEquals(500_000, model.pxToValue(125));
+        assertEquals(1_000_002, model.pxToValue(250 + 250 * 2 / 3f));
+    }
+
+    @Test
+    public void denseVariableSpacing_defaultMode_spreadsTicks() {
+        // 刻度比像素多，一个刻度的长度小于1像素
+        long[] spacings = new long[2000];
+        for (int i = 0; i < spacings.length; i++) {
+            spacings[i] = 1 + i % 5;
+        }
+        ScaleModel model = new ScaleModel(0, 100, 10);
+        model.setSpacing(0L, spacings);
+        model.setBounds(40, 960);
+
+        assertEquals(960 / 2000.0, model.getOneSpace(), 1e-6);
+        assertEquals(40, model.getTickPx(0), 0f);
+        assertEquals(520, model.getTickPx(1000), 0f);
+        assertEquals(model.getMinValue(), model.pxToValue(40));
+        assertEquals(model.getMaxValue(), model.pxToValue(1000));
+        long previous = model.getMinValue();
+        for (int x = 41; x <= 1000; x++) {
+            long value = model.pxToValue(x);
+            assertTrue("x=" + x, value > previous);
+            // 同一个像素内的误差
+            assertTrue("x=" + x, Math.abs(model.valueToPx(value) - x) <= 1);
+            previous = value;
+        }
+    }
+
+    @Test
+    public void denseFixedSpacing_distanceAtLeastOnePixel() {
+        ScaleModel model = new ScaleModel(0, 1_000_000, 1);
+        model.setBounds(40, 1000);
+
+        assertEquals(1, model.distanceToPx(5), 0f);
+        assertEquals(0, model.distanceToPx(0), 0f);
+        assertEquals(500, model.distanceToPx(500_000), 0f);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidRange_throws() {
+        new ScaleModel(10, 10, 1);
+    }
+
+    /**
+     * 原有的逐个刻度遍历的算法
+     */
+    private static int linearPxToValue(int min, int[] spacings, int oneSpace, int currentX) {
+        int intNum = (int) Math.floor((float) currentX / oneSpace);
+        int result = min;
+        for (int i = 0; i < intNum; i++) {
+            result += spacings[i];
+            currentX -= oneSpace;
+        }
+        if (intNum < spacings.length) {
+            result += (int) ((float) currentX / (float) oneSpace * spacings[intNum]);
+        }
+        return result;
+    }
+
+    private static int linearValueToPx(int min, int[] spacings, int oneSpace, int value) {
+        int position = 0;
+        int sum = min;
+        for (int i = 0; i < spacings.length; i++) {
+            sum += spacings[i];
+            if (sum >= value) {
+                position = i;
+                break;
+            }
+        }
+        int resultPx = oneSpace * position;
+        int last = value - min;
+        for (int i = 0; i < position; i++) {
+            last -= spacings[i];
+        }
+        resultPx += (float) last / (float) spacings[position] * oneSpace;
+        return resultPx;
+    }
+}
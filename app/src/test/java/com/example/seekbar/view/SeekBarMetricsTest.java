@@ -0,0 +1,86 @@
+package com.example.seekbar.view;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * 热路径统计测试
+ */
+public class SeekBarMetricsTest {
+
+    @Test
+    public void bucketOf_powerOfTwoMicros() {
+        assertEquals(0, SeekBarMetrics.bucketOf(0));
+        assertEquals(0, SeekBarMetrics.bucketOf(999));
+        assertEquals(1, SeekBarMetrics.bucketOf(1000));
+        assertEquals(2, SeekBarMetrics.bucketOf(2000));
+        assertEquals(2, SeekBarMetrics.bucketOf(3999));
+        assertEquals(3, SeekBarMetrics.bucketOf(4000));
+        assertEquals(SeekBarMetrics.BUCKET_COUNT - 1, SeekBarMetrics.bucketOf(1000L * 1000 * 1000));
+    }
+
+    @Test
+    public void bucketUpperBound_containsBucket() {
+        for (int bucket = 0; bucket < SeekBarMetrics.BUCKET_COUNT - 1; bucket++) {
+            long upperNanos = SeekBarMetrics.getBucketUpperMicros(bucket) * 1000;
+            assertEquals(bucket, SeekBarMetrics.bucketOf(upperNanos - 1));
+            assertEquals(bucket + 1, SeekBarMetrics.bucketOf(upperNanos));
+        }
+        assertEquals(Long.MAX_VALUE, SeekBarMetrics.getBucketUpperMicros(SeekBarMetrics.BUCKET_COUNT - 1));
+    }
+
+    @Test
+    public void record_countsTotalAndMax() {
+        SeekBarMetrics metrics = new SeekBarMetrics();
+        metrics.record(SeekBarMetrics.TIMER_DRAW, 1500);
+        metrics.record(SeekBarMetrics.TIMER_DRAW, 500);
+        metrics.record(SeekBarMetrics.TIMER_LISTENER, 8000);
+
+        assertEquals(2, metrics.getCount(SeekBarMetrics.TIMER_DRAW));
+        assertEquals(2000, metrics.getTotalNanos(SeekBarMetrics.TIMER_DRAW));
+        assertEquals(1500, metrics.getMaxNanos(SeekBarMetrics.TIMER_DRAW));
+        assertEquals(1, metrics.getBucket(SeekBarMetrics.TIMER_DRAW, 0));
+        assertEquals(1, metrics.getBucket(SeekBarMetrics.TIMER_DRAW, 1));
+        assertEquals(1, metrics.getCount(SeekBarMetrics.TIMER_LISTENER));
+        assertEquals(0, metrics.getCount(SeekBarMetrics.TIMER_TOUCH_TO_DISPATCH));
+    }
+
+    @Test
+    public void percentile_returnsBucketUpperBound() {
+        SeekBarMetrics metrics = new SeekBarMetrics();
+        assertEquals(0, metrics.getPercentileMicros(SeekBarMetrics.TIMER_DRAW, 50));
+        for (int i = 0; i < 90; i++) {
+            metrics.record(SeekBarMetrics.TIMER_DRAW, 1500); // [1, 2)微秒
+        }
+        for (int i = 0; i < 10; i++) {
+            metrics.record(SeekBarMetrics.TIMER_DRAW, 20000); // [16, 32)微秒
+        }
+
+        assertEquals(2, metrics.getPercentileMicros(SeekBarMetrics.TIMER_DRAW, 50));
+        assertEquals(2, metrics.getPercentileMicros(SeekBarMetrics.TIMER_DRAW, 90));
+        assertEquals(32, metrics.getPercentileMicros(SeekBarMetrics.TIMER_DRAW, 99));
+        assertEquals(32, metrics.getPercentileMicros(SeekBarMetrics.TIMER_DRAW, 100));
+    }
+
+    @Test
+    public void snapshot_isIndependentCopy() {
+        SeekBarMetrics metrics = new SeekBarMetrics();
+        metrics.record(SeekBarMetrics.TIMER_DRAW, 1000);
+        metrics.countInvalidation();
+        metrics.countCoalescedUpdate();
+        metrics.countDroppedUpdate();
+        metrics.countGesture();
+
+        SeekBarMetrics snapshot = metrics.snapshot();
+        metrics.reset();
+
+        assertEquals(0, metrics.getCount(SeekBarMetrics.TIMER_DRAW));
+        assertEquals(0, metrics.getInvalidations());
+        assertEquals(1, snapshot.getCount(SeekBarMetrics.TIMER_DRAW));
+        assertEquals(1, snapshot.getInvalidations());
+        assertEquals(1, snapshot.getCoalescedUpdates());
+        assertEquals(1, snapshot.getDroppedUpdates());
+        assertEquals(1, snapshot.getGestures());
+    }
+}
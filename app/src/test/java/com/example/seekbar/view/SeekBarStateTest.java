@@ -0,0 +1,78 @@
+package com.example.seekbar.view;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 进度条状态测试
+ */
+public class SeekBarStateTest {
+
+    @Test
+    public void withRange_sharesScale() {
+        SeekBarState state = SeekBarState.ofSpacing(20, 10, 20, 20, 30);
+        SeekBarState moved = state.withRange(30, 70).withDistance(5);
+
+        assertTrue(moved.hasSameScale(state));
+        assertEquals(20, state.getLeft());
+        assertEquals(100, state.getRight());
+        assertEquals(30, moved.getLeft());
+        assertEquals(70, moved.getRight());
+        assertEquals(5, moved.getDistance());
+        assertFalse(SeekBarState.ofSpacing(20, 10, 20, 20, 30).hasSameScale(state));
+    }
+
+    @Test
+    public void scale_appliesToModel() {
+        int[] spacings = {10, 20, 20, 30};
+        SeekBarState state = SeekBarState.ofSpacing(20, spacings);
+        spacings[0] = 1000;
+        ScaleModel model = new ScaleModel(0, 100, 10);
+        state.scale.applyTo(model);
+        model.setBounds(0, 400);
+
+        assertEquals(100, model.getMaxValue());
+        assertEquals(30, model.getTickValue(1));
+        assertEquals(200, model.valueToPx(50), 0f);
+
+        SeekBarState.ofRange(0, 50, 5).scale.applyTo(model);
+        assertFalse(model.isVariable());
+        assertEquals(10, model.getSpaceCount());
+    }
+
+    @Test
+    public void timestampScale_keepsLongValues() {
+        long start = 1_700_000_000_000L;
+        SeekBarState spacing = SeekBarState.ofSpacing(start, 3_600_000L, 82_800_000L);
+        assertEquals(start + 86_400_000L, spacing.getMaxValue());
+        assertEquals(start + 86_400_000L, spacing.getRight());
+
+        SeekBarState range = SeekBarState.ofRange(start, start + 86_400_000L, 3_600_000L)
+                .withRange(start + 1, start + 86_399_999L).withDistance(60_000L);
+        assertEquals(start + 1, range.getLeft());
+        assertEquals(start + 86_399_999L, range.getRight());
+        assertEquals(60_000L, range.getDistance());
+
+        ScaleModel model = new ScaleModel(0, 100, 10);
+        range.scale.applyTo(model);
+        assertEquals(24, model.getSpaceCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void emptySpacing_throws() {
+        SeekBarState.ofSpacing(0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidRange_throws() {
+        SeekBarState.ofRange(100, 0, 10);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nullMapping_throws() {
+        SeekBarState.ofMapping(null, 10);
+    }
+}
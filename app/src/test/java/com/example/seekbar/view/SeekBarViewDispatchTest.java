@@ -0,0 +1,234 @@
+package com.example.seekbar.view;
+
+import android.app.Activity;
+import android.graphics.Color;
+import android.os.SystemClock;
+import android.view.MotionEvent;
+import android.view.View;
+import android.widget.FrameLayout;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.shadows.ShadowChoreographer;
+import org.robolectric.shadows.ShadowLooper;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+/**
+ * 回调模式和回调间隔的测试
+ * <p>
+ * SeekBarView添加到Activity中，帧回调经过Choreographer
+ * 主线程的Looper暂停，每一帧在16ms后执行，由测试推进时钟
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class SeekBarViewDispatchTest {
+    private static final int WIDTH = 1080;
+    private static final int HEIGHT = 300;
+    private static final int INDICATOR_SIZE = 50;
+    private static final int START_PX = 40; // 进度条左右留出的padding
+    private static final int FRAME_MILLIS = 16;
+    private static final long UPDATE_INTERVAL = 100;
+
+    private SeekBarView view;
+    private RecordingListener listener;
+    private long downTime;
+
+    @Before
+    public void setUp() {
+        Activity activity = Robolectric.buildActivity(Activity.class).setup().get();
+        view = new SeekBarView(activity);
+        view.setIndicatorRenderer(
+                new PathIndicatorRenderer(true, Color.RED, INDICATOR_SIZE, INDICATOR_SIZE),
+                new PathIndicatorRenderer(false, Color.RED, INDICATOR_SIZE, INDICATOR_SIZE));
+        listener = new RecordingListener();
+        view.setOnSeekBarUpdateListener(listener);
+        FrameLayout root = new FrameLayout(activity);
+        root.addView(view, new FrameLayout.LayoutParams(WIDTH, HEIGHT));
+        activity.setContentView(root);
+        view.measure(View.MeasureSpec.makeMeasureSpec(WIDTH, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(HEIGHT, View.MeasureSpec.EXACTLY));
+        view.layout(0, 0, WIDTH, HEIGHT);
+        view.setRange(0, 1000, 10);
+
+        ShadowChoreographer.setPostCallbackDelay(FRAME_MILLIS);
+        ShadowLooper.pauseMainLooper();
+        // 时钟离开0，第一次onUpdate不受回调间隔限制
+        ShadowLooper.idleMainLooper(1, TimeUnit.SECONDS);
+        downTime = SystemClock.uptimeMillis();
+    }
+
+    @After
+    public void tearDown() {
+        ShadowChoreographer.setPostCallbackDelay(0);
+        ShadowLooper.unPauseMainLooper();
+    }
+
+    @Test
+    public void frameMode_mergesMovesIntoOneCallbackPerFrame() {
+        view.setDispatchMode(SeekBarView.DISPATCH_MODE_FRAME);
+
+        touch(MotionEvent.ACTION_DOWN, START_PX);
+        touch(MotionEvent.ACTION_MOVE, 200);
+        touch(MotionEvent.ACTION_MOVE, 300);
+        touch(MotionEvent.ACTION_MOVE, 400);
+        assertEquals(0, listener.updateCount);
+
+        advance(FRAME_MILLIS);
+        assertEquals(1, listener.updateCount);
+        assertEquals(view.getLeftValue(), listener.left);
+
+        touch(MotionEvent.ACTION_MOVE, 500);
+        touch(MotionEvent.ACTION_MOVE, 600);
+        advance(FRAME_MILLIS);
+        assertEquals(2, listener.updateCount);
+        assertEquals(view.getLeftValue(), listener.left);
+
+        // 没有新的滑动，后面的帧不再回调
+        advance(FRAME_MILLIS * 4);
+        assertEquals(2, listener.updateCount);
+
+        touch(MotionEvent.ACTION_UP, 600);
+        assertEquals(1, listener.startCount);
+        assertEquals(1, listener.endCount);
+        assertEquals(view.getLeftValue(), listener.left);
+    }
+
+    @Test
+    public void frameMode_unchangedValueNotDispatched() {
+        view.setDispatchMode(SeekBarView.DISPATCH_MODE_FRAME);
+
+        touch(MotionEvent.ACTION_DOWN, START_PX);
+        touch(MotionEvent.ACTION_MOVE, 300);
+        advance(FRAME_MILLIS);
+        touch(MotionEvent.ACTION_MOVE, 300);
+        advance(FRAME_MILLIS);
+
+        assertEquals(1, listener.updateCount);
+    }
+
+    @Test
+    public void updateInterval_deliversFinalValueLater() {
+        view.setUpdateInterval(UPDATE_INTERVAL);
+
+        touch(MotionEvent.ACTION_DOWN, START_PX);
+        touch(MotionEvent.ACTION_MOVE, 200);
+        assertEquals(1, listener.updateCount);
+        long first = listener.left;
+
+        touch(MotionEvent.ACTION_MOVE, 300);
+        touch(MotionEvent.ACTION_MOVE, 400);
+        advance(FRAME_MILLIS);
+        assertEquals(1, listener.updateCount);
+        assertEquals(first, listener.left);
+
+        // 间隔过去后回调最后的进度值
+        advance(UPDATE_INTERVAL);
+        assertEquals(2, listener.updateCount);
+        assertEquals(view.getLeftValue(), listener.left);
+
+        advance(UPDATE_INTERVAL * 2);
+        assertEquals(2, listener.updateCount);
+
+        touch(MotionEvent.ACTION_UP, 400);
+        assertEquals(1, listener.endCount);
+        assertEquals(view.getLeftValue(), listener.left);
+    }
+
+    @Test
+    public void frameMode_pendingAtUp_endsOnceWithFinalValue() {
+        view.setDispatchMode(SeekBarView.DISPATCH_MODE_FRAME);
+        assertPendingUpdateEndsOnce(MotionEvent.ACTION_UP);
+    }
+
+    @Test
+    public void frameMode_pendingAtCancel_endsOnceWithFinalValue() {
+        view.setDispatchMode(SeekBarView.DISPATCH_MODE_FRAME);
+        assertPendingUpdateEndsOnce(MotionEvent.ACTION_CANCEL);
+    }
+
+    @Test
+    public void updateInterval_pendingAtUp_endsOnceWithFinalValue() {
+        view.setUpdateInterval(UPDATE_INTERVAL);
+        touch(MotionEvent.ACTION_DOWN, START_PX);
+        touch(MotionEvent.ACTION_MOVE, 200);
+        int delivered = listener.updateCount;
+
+        touch(MotionEvent.ACTION_MOVE, 400);
+        touch(MotionEvent.ACTION_UP, 400);
+        advance(UPDATE_INTERVAL * 2);
+
+        assertEquals(delivered, listener.updateCount);
+        assertEquals(1, listener.startCount);
+        assertEquals(1, listener.endCount);
+        assertEquals(view.getLeftValue(), listener.left);
+    }
+
+    /**
+     * 手势结束时还有没有回调的onUpdate，只回调一次onUpdateEnd，进度是最终值
+     * 之后的帧不再回调onUpdate
+     */
+    private void assertPendingUpdateEndsOnce(int endAction) {
+        touch(MotionEvent.ACTION_DOWN, START_PX);
+        long start = listener.left;
+        touch(MotionEvent.ACTION_MOVE, 300);
+        touch(endAction, 300);
+
+        assertEquals(1, listener.startCount);
+        assertEquals(1, listener.endCount);
+        assertEquals(view.getLeftValue(), listener.left);
+        assertNotEquals(start, listener.left);
+
+        advance(FRAME_MILLIS * 4);
+        assertEquals(0, listener.updateCount);
+        assertEquals(1, listener.endCount);
+    }
+
+    private void touch(int action, float x) {
+        // 向上的指示器在进度条下方，进度条在高度一半再向下20像素的位置
+        float y = HEIGHT / 2 + 20 + INDICATOR_SIZE / 2;
+        MotionEvent event = MotionEvent.obtain(downTime, SystemClock.uptimeMillis(), action, x, y, 0);
+        view.onTouchEvent(event);
+        event.recycle();
+    }
+
+    private static void advance(long millis) {
+        ShadowLooper.idleMainLooper(millis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 记录回调次数和最后一次回调的左边进度值
+     */
+    private static class RecordingListener implements SeekBarView.SeekBarUpdateListener {
+        int startCount;
+        int updateCount;
+        int endCount;
+        long left;
+
+        @Override
+        public void onUpdateStart(int left, int right) {
+            startCount++;
+            this.left = left;
+        }
+
+        @Override
+        public void onUpdate(int left, int right) {
+            updateCount++;
+            this.left = left;
+        }
+
+        @Override
+        public void onUpdateEnd(int left, int right) {
+            endCount++;
+            this.left = left;
+        }
+    }
+}
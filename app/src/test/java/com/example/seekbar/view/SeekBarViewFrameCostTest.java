@@ -0,0 +1,500 @@
+package com.example.seekbar.view;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.graphics.Path;
+import android.os.SystemClock;
+import android.view.MotionEvent;
+import android.view.View;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 绘制和刷新的开销测试
+ * <p>
+ * 用合成的MotionEvent驱动SeekBarView，记录每帧的绘制次数、invalidate和requestLayout的次数以及回调次数
+ * 固定刻度和可变刻度都要满足同样的预算，拖动和绘制不能分配内存
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class SeekBarViewFrameCostTest {
+    private static final int WIDTH = 1080;
+    private static final int HEIGHT = 300;
+    private static final int INDICATOR_SIZE = 50;
+    private static final int START_PX = 40; // 进度条左右留出的padding
+    private static final int MOVES = 20;
+    private static final int LAYOUT_BUDGET_PER_GESTURE = 1;
+    private static final int[] TICK_COUNTS = {10, 1000, 100000};
+
+    private CountingSeekBarView view;
+    private CountingListener listener;
+
+    @Before
+    public void setUp() {
+        view = new CountingSeekBarView(RuntimeEnvironment.application);
+        view.setIndicatorRenderer(
+                new PathIndicatorRenderer(true, Color.RED, INDICATOR_SIZE, INDICATOR_SIZE),
+                new PathIndicatorRenderer(false, Color.RED, INDICATOR_SIZE, INDICATOR_SIZE));
+        listener = new CountingListener();
+        view.setOnSeekBarUpdateListener(listener);
+        layout(view);
+    }
+
+    @Test
+    public void dragGesture_fixedScale_withinBudget() {
+        view.setRange(0, 1000, 10);
+        assertDragWithinBudget();
+    }
+
+    @Test
+    public void dragGesture_variableScale_withinBudget() {
+        view.setSpacing(0, variableSpacings(100));
+        assertDragWithinBudget();
+    }
+
+    @Test
+    public void drawOps_fixedScale_independentOfTickCount() {
+        int expected = -1;
+        for (int count : TICK_COUNTS) {
+            view.setRange(0, count * 10L, 10);
+            layout(view);
+            int ops = countDrawOps(view);
+            if (expected < 0) {
+                expected = ops;
+            }
+            assertEquals("ticks " + count, expected, ops);
+        }
+    }
+
+    @Test
+    public void drawOps_variableScale_independentOfTickCount() {
+        int expected = -1;
+        for (int count : TICK_COUNTS) {
+            view.setSpacing(0, variableSpacings(count));
+            layout(view);
+            int ops = countDrawOps(view);
+            if (expected < 0) {
+                expected = ops;
+            }
+            assertEquals("ticks " + count, expected, ops);
+        }
+    }
+
+    @Test
+    public void drawOps_withoutStaticLayer_boundedByWidth() {
+        view.setStaticLayerEnabled(false);
+        // 刻度线之间至少8像素，每根刻度线最多再画一个刻度值，另外是进度条和指示器
+        int bound = WIDTH / 8 * 2 + 16;
+        for (int count : TICK_COUNTS) {
+            view.setRange(0, count * 10L, 10);
+            layout(view);
+            assertTrue("ticks " + count, countDrawOps(view) <= bound);
+
+            view.setSpacing(0, variableSpacings(count));
+            layout(view);
+            assertTrue("spacings " + count, countDrawOps(view) <= bound);
+        }
+    }
+
+    @Test
+    public void detach_keepsStaticLayer() {
+        view.setRange(0, 1000, 10);
+        int cached = countDrawOps(view);
+
+        view.onDetachedFromWindow();
+        assertEquals(cached, countDrawOps(view));
+
+        view.setStaticLayerEnabled(false);
+        assertTrue(countDrawOps(view) > cached);
+    }
+
+    @Test
+    public void staticLayer_coversOnlyTickBand() {
+        view.setRange(0, 1000, 10);
+        RecordingCanvas canvas = new RecordingCanvas();
+        view.onDraw(canvas);
+
+        // 刻度值的顶部到进度条的底部，不是整个view
+        assertTrue(canvas.bitmapTop > 0);
+        assertTrue(canvas.bitmapHeight < HEIGHT / 3);
+
+        view.setTextSize(40);
+        canvas = new RecordingCanvas();
+        view.onDraw(canvas);
+        assertTrue(canvas.bitmapHeight < HEIGHT / 2);
+    }
+
+    @Test
+    public void drawOps_duringDrag_onlyAddShowText() {
+        view.setRange(0, 1000, 10);
+        int idle = countDrawOps(view);
+
+        long downTime = SystemClock.uptimeMillis();
+        touch(downTime, MotionEvent.ACTION_DOWN, START_PX);
+        touch(downTime, MotionEvent.ACTION_MOVE, 300);
+
+        assertEquals(idle + 1, countDrawOps(view));
+    }
+
+    @Test
+    public void dragAndDraw_fixedScale_allocatesNothing() {
+        view.setRange(0, 1000, 10);
+        assertDragAndDrawAllocatesNothing();
+    }
+
+    @Test
+    public void dragAndDraw_variableScale_allocatesNothing() {
+        view.setSpacing(0, variableSpacings(1000));
+        assertDragAndDrawAllocatesNothing();
+    }
+
+    @Test
+    public void setValues_doesNotRequestLayout() {
+        view.setRange(0, 1000, 10);
+        view.resetCounts();
+
+        view.setCurrentLeftAndRight(100, 900);
+        view.setCurrentLeft(200);
+        view.setCurrentRight(800);
+
+        assertEquals(0, view.requestLayoutCount);
+        assertEquals(0, view.fullInvalidateCount);
+        assertEquals(3, view.partialInvalidateCount);
+    }
+
+    @Test
+    public void negativeRange_zeroAndNegativeValuesAreSet() {
+        view.setRange(-100, 100, 10);
+
+        view.setCurrentLeft(-50);
+        view.setCurrentRight(0);
+        assertEquals(-50, view.getLeftValue());
+        assertEquals(0, view.getRightValue());
+
+        view.setThumbCount(3);
+        assertEquals(-100, view.getThumbValue(0));
+        assertEquals(0, view.getThumbValue(1));
+        assertEquals(100, view.getThumbValue(2));
+    }
+
+    @Test
+    public void draggedValue_keptAfterSizeAndRendererChange() {
+        view.setPrecisionMode(true);
+        view.setRange(0, 1000, 10);
+        long downTime = SystemClock.uptimeMillis();
+        touch(downTime, MotionEvent.ACTION_DOWN, START_PX);
+        touch(downTime, MotionEvent.ACTION_MOVE, 300);
+        touch(downTime, MotionEvent.ACTION_UP, 300);
+        long dragged = view.getLeftValue();
+        assertTrue(dragged > 0);
+
+        // 例如旋转屏幕或者列表项的宽度变化
+        view.measure(View.MeasureSpec.makeMeasureSpec(WIDTH / 2, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(HEIGHT, View.MeasureSpec.EXACTLY));
+        view.layout(0, 0, WIDTH / 2, HEIGHT);
+        assertEquals(dragged, view.getLeftValue());
+
+        view.setIndicatorRenderer(
+                new PathIndicatorRenderer(true, Color.BLUE, INDICATOR_SIZE, INDICATOR_SIZE),
+                new PathIndicatorRenderer(false, Color.BLUE, INDICATOR_SIZE, INDICATOR_SIZE));
+        assertEquals(dragged, view.getLeftValue());
+        assertEquals(dragged, view.getRangeSnapshot().getLeft());
+    }
+
+    @Test
+    public void beforeLayout_reportsSetValues() {
+        // 列表中刚绑定、还没有layout的SeekBarView
+        SeekBarView unsized = new SeekBarView(RuntimeEnvironment.application);
+        unsized.bind(SeekBarState.ofRange(0, 100, 10).withRange(20, 80).withDistance(5));
+
+        assertEquals(20, unsized.getLeftValue());
+        assertEquals(80, unsized.getRightValue());
+        RangeSelector.Range range = unsized.getRangeSnapshot();
+        assertEquals(20, range.getLeft());
+        assertEquals(80, range.getRight());
+
+        unsized.setThumbCount(3);
+        assertEquals(50, unsized.getThumbValue(1));
+        assertEquals(100, unsized.getRangeSnapshot().getRight());
+    }
+
+    @Test
+    public void rangeSnapshot_matchesShownValues() {
+        view.setRange(0, 100, 10);
+        view.setLeftDistanceRight(5);
+        view.setCurrentLeftAndRight(10, 12);
+
+        // 按照排列规则调整后显示的与发布的一致
+        assertEquals(10, view.getLeftValue());
+        assertEquals(15, view.getRightValue());
+        RangeSelector.Range range = view.getRangeSnapshot();
+        assertEquals(10, range.getLeft());
+        assertEquals(15, range.getRight());
+        assertEquals(5, range.getDistance());
+    }
+
+    @Test
+    public void setCurrentLeft_keepsThumbsInOrder() {
+        view.setRange(0, 100, 10);
+        view.setLeftDistanceRight(5);
+        view.setThumbCount(3);
+
+        view.setCurrentLeft(90);
+        assertEquals(90, view.getThumbValue(0));
+        assertEquals(95, view.getThumbValue(1));
+        assertEquals(100, view.getThumbValue(2));
+
+        view.setCurrentRight(20);
+        assertEquals(10, view.getThumbValue(0));
+        assertEquals(15, view.getThumbValue(1));
+        assertEquals(20, view.getThumbValue(2));
+    }
+
+    @Test
+    public void sameTickCount_doesNotRequestLayout() {
+        view.setRange(0, 1000, 10);
+        view.resetCounts();
+
+        view.setRange(1000, 2000, 10);
+        assertEquals(0, view.requestLayoutCount);
+
+        view.setRange(0, 2000, 10);
+        assertEquals(1, view.requestLayoutCount);
+    }
+
+    @Test
+    public void unchangedValue_notDispatched() {
+        view.setRange(0, 1000, 10);
+        long downTime = SystemClock.uptimeMillis();
+        touch(downTime, MotionEvent.ACTION_DOWN, START_PX);
+        touch(downTime, MotionEvent.ACTION_MOVE, 300);
+        touch(downTime, MotionEvent.ACTION_MOVE, 300);
+        touch(downTime, MotionEvent.ACTION_MOVE, 300);
+        touch(downTime, MotionEvent.ACTION_UP, 300);
+
+        assertEquals(1, listener.startCount);
+        assertEquals(1, listener.updateCount);
+        assertEquals(1, listener.endCount);
+    }
+
+    /**
+     * 拖动左边的指示器，一次手势最多一次layout，每个事件最多一次局部刷新，不整体刷新
+     */
+    private void assertDragWithinBudget() {
+        view.resetCounts();
+        listener.reset();
+
+        long downTime = SystemClock.uptimeMillis();
+        float x = START_PX;
+        touch(downTime, MotionEvent.ACTION_DOWN, x);
+        for (int i = 0; i < MOVES; i++) {
+            x += 20;
+            touch(downTime, MotionEvent.ACTION_MOVE, x);
+        }
+        touch(downTime, MotionEvent.ACTION_UP, x);
+
+        assertTrue(view.requestLayoutCount <= LAYOUT_BUDGET_PER_GESTURE);
+        assertEquals(0, view.fullInvalidateCount);
+        assertTrue(view.partialInvalidateCount <= MOVES + 2);
+        assertEquals(1, listener.startCount);
+        assertEquals(1, listener.endCount);
+        assertTrue(listener.updateCount > 0);
+        assertTrue(listener.updateCount <= MOVES);
+    }
+
+    /**
+     * 按下左边的指示器后反复滑动并绘制，只统计预热之后的一轮
+     * MotionEvent和Canvas在统计之前创建，测量的只有onTouchEvent和onDraw
+     */
+    private void assertDragAndDrawAllocatesNothing() {
+        long downTime = SystemClock.uptimeMillis();
+        final MotionEvent[] moves = new MotionEvent[MOVES];
+        for (int i = 0; i < MOVES; i++) {
+            moves[i] = obtain(downTime, MotionEvent.ACTION_MOVE, START_PX + 20 * (i + 1));
+        }
+        final RecordingCanvas canvas = new RecordingCanvas();
+        touch(downTime, MotionEvent.ACTION_DOWN, START_PX);
+
+        // 静态图层在预热时第一次绘制
+        try {
+            AllocationCounter.assertNoAllocation(new Runnable() {
+                @Override
+                public void run() {
+                    dragAndDraw(moves, canvas);
+                }
+            });
+        } finally {
+            touch(downTime, MotionEvent.ACTION_UP, START_PX);
+            for (MotionEvent move : moves) {
+                move.recycle();
+            }
+        }
+        assertTrue(listener.updateCount > 0);
+    }
+
+    private void dragAndDraw(MotionEvent[] moves, Canvas canvas) {
+        for (MotionEvent move : moves) {
+            view.onTouchEvent(move);
+            view.onDraw(canvas);
+        }
+    }
+
+    private void touch(long downTime, int action, float x) {
+        MotionEvent event = obtain(downTime, action, x);
+        view.onTouchEvent(event);
+        event.recycle();
+    }
+
+    private static MotionEvent obtain(long downTime, int action, float x) {
+        // 向上的指示器在进度条下方，进度条在高度一半再向下20像素的位置
+        float y = HEIGHT / 2 + 20 + INDICATOR_SIZE / 2;
+        return MotionEvent.obtain(downTime, SystemClock.uptimeMillis(), action, x, y, 0);
+    }
+
+    private static int countDrawOps(SeekBarView view) {
+        RecordingCanvas canvas = new RecordingCanvas();
+        view.onDraw(canvas);
+        return canvas.ops;
+    }
+
+    private static void layout(View view) {
+        view.measure(View.MeasureSpec.makeMeasureSpec(WIDTH, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(HEIGHT, View.MeasureSpec.EXACTLY));
+        view.layout(0, 0, WIDTH, HEIGHT);
+    }
+
+    private static int[] variableSpacings(int count) {
+        int[] spacings = new int[count];
+        for (int i = 0; i < count; i++) {
+            spacings[i] = 1 + i % 7;
+        }
+        return spacings;
+    }
+
+    /**
+     * 记录invalidate和requestLayout次数的SeekBarView
+     */
+    private static class CountingSeekBarView extends SeekBarView {
+        int fullInvalidateCount;
+        int partialInvalidateCount;
+        int requestLayoutCount;
+
+        CountingSeekBarView(Context context) {
+            super(context);
+        }
+
+        @Override
+        public void invalidate() {
+            fullInvalidateCount++;
+            super.invalidate();
+        }
+
+        @Override
+        public void invalidate(int l, int t, int r, int b) {
+            partialInvalidateCount++;
+            super.invalidate(l, t, r, b);
+        }
+
+        @Override
+        public void requestLayout() {
+            requestLayoutCount++;
+            super.requestLayout();
+        }
+
+        void resetCounts() {
+            fullInvalidateCount = 0;
+            partialInvalidateCount = 0;
+            requestLayoutCount = 0;
+        }
+    }
+
+    /**
+     * 只记录绘制次数的Canvas
+     * 用到的方法都在这里实现，不经过Robolectric的Canvas，分配测试只统计SeekBarView自身
+     */
+    private static class RecordingCanvas extends Canvas {
+        int ops;
+        int saveCount = 1;
+        float bitmapTop;
+        int bitmapHeight;
+
+        @Override
+        public int save() {
+            return saveCount++;
+        }
+
+        @Override
+        public void restoreToCount(int saveCount) {
+            this.saveCount = saveCount;
+        }
+
+        @Override
+        public void translate(float dx, float dy) {
+        }
+
+        @Override
+        public void drawLine(float startX, float startY, float stopX, float stopY, Paint paint) {
+            ops++;
+        }
+
+        @Override
+        public void drawText(String text, float x, float y, Paint paint) {
+            ops++;
+        }
+
+        @Override
+        public void drawText(char[] text, int index, int count, float x, float y, Paint paint) {
+            ops++;
+        }
+
+        @Override
+        public void drawBitmap(Bitmap bitmap, float left, float top, Paint paint) {
+            ops++;
+            bitmapTop = top;
+            bitmapHeight = bitmap.getHeight();
+        }
+
+        @Override
+        public void drawPath(Path path, Paint paint) {
+            ops++;
+        }
+    }
+
+    private static class CountingListener implements SeekBarView.SeekBarUpdateListener {
+        int startCount;
+        int updateCount;
+        int endCount;
+
+        @Override
+        public void onUpdateStart(int left, int right) {
+            startCount++;
+        }
+
+        @Override
+        public void onUpdate(int left, int right) {
+            updateCount++;
+        }
+
+        @Override
+        public void onUpdateEnd(int left, int right) {
+            endCount++;
+        }
+
+        void reset() {
+            startCount = 0;
+            updateCount = 0;
+            endCount = 0;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.seekbar.view;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * 吸附刻度表测试
+ */
+public class SnapTableTest {
+
+    @Test
+    public void fixedSpacing_snapsToNearestTick() {
+        ScaleModel model = new ScaleModel(0, 100, 10);
+        model.setBounds(40, 1000);
+        SnapTable table = new SnapTable();
+        table.update(model);
+
+        assertEquals(11, table.size());
+        assertEquals(0, table.indexOf(0));
+        assertEquals(3, table.indexOf(349));
+        assertEquals(30, table.getValue(table.indexOf(389)));
+        assertEquals(40, table.getValue(table.indexOf(391)));
+        assertEquals(440, table.getPosition(table.indexOf(431)), 0f);
+        assertEquals(10, table.indexOf(5000));
+    }
+
+    @Test
+    public void unevenRange_includesMax() {
+        ScaleModel model = new ScaleModel(0, 25, 10);
+        model.setBounds(0, 250);
+        SnapTable table = new SnapTable();
+        table.update(model);
+
+        assertEquals(4, table.size());
+        assertEquals(20, table.getValue(2));
+        assertEquals(25, table.getValue(3));
+        assertEquals(250, table.getPosition(3), 0f);
+        assertEquals(25, table.getValue(table.indexOf(240)));
+    }
+
+    @Test
+    public void variableSpacing_matchesTicks() {
+        ScaleModel model = new ScaleModel(0, 100, 10);
+        model.setSpacing(20, 10, 20, 20, 30);
+        model.setBounds(0, 400);
+        SnapTable table = new SnapTable();
+        table.update(model);
+
+        assertEquals(5, table.size());
+        for (int i = 0; i < table.size(); i++) {
+            assertEquals(model.getTickValue(i), table.getValue(i));
+            assertEquals(i, table.indexOf(model.getTickPx(i) + 10));
+        }
+
+        // 刻度变少时复用数组
+        model.setRange(0, 10, 5);
+        table.update(model);
+        assertEquals(3, table.size());
+        assertEquals(10, table.getValue(table.indexOf(400)));
+    }
+}
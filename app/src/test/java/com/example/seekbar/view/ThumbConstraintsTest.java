@@ -0,0 +1,54 @@
+package com.example.seekbar.view;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * 多个指示器的排列规则测试
+ */
+public class ThumbConstraintsTest {
+
+    @Test
+    public void nearest_findsClosestThumb() {
+        double[] positions = {40, 100, 300, 301, 900};
+
+        assertEquals(0, ThumbConstraints.nearest(positions, 0));
+        assertEquals(0, ThumbConstraints.nearest(positions, 70));
+        assertEquals(1, ThumbConstraints.nearest(positions, 71));
+        assertEquals(2, ThumbConstraints.nearest(positions, 300.4f));
+        assertEquals(3, ThumbConstraints.nearest(positions, 300.6f));
+        assertEquals(4, ThumbConstraints.nearest(positions, 2000));
+        assertEquals(0, ThumbConstraints.nearest(new double[]{5}, 100));
+    }
+
+    @Test
+    public void solve_enforcesGapsAndBounds() {
+        long[] values = {-10, 5, 5, 200};
+        ThumbConstraints.solve(values, 10, 0, 100);
+
+        assertArrayEquals(new long[]{0, 10, 20, 100}, values);
+    }
+
+    @Test
+    public void solve_pullsBackFromMax() {
+        long[] values = {95, 96, 97};
+        ThumbConstraints.solve(values, 5, 0, 100);
+
+        assertArrayEquals(new long[]{90, 95, 100}, values);
+    }
+
+    @Test
+    public void solve_keepsValidValues() {
+        long[] values = {10, 40, 70};
+        ThumbConstraints.solve(values, 5, 0, 100);
+
+        assertArrayEquals(new long[]{10, 40, 70}, values);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void solve_tooManyThumbs_throws() {
+        ThumbConstraints.solve(new long[4], 40, 0, 100);
+    }
+}
@@ -0,0 +1,181 @@
+package com.example.seekbar.view;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 指示器位置和拖动限制测试
+ */
+public class ThumbTrackTest {
+
+    private static ThumbTrack newTrack(long distance) {
+        // 每个进度值10像素
+        ScaleModel model = new ScaleModel(0, 100, 10);
+        model.setBounds(0, 1000);
+        ThumbTrack track = new ThumbTrack(model, 2, distance);
+        track.setPosition(0, 0);
+        track.setPosition(1, 1000);
+        return track;
+    }
+
+    @Test
+    public void move_stopsAtBoundsAndNeighbor() {
+        ThumbTrack track = newTrack(5);
+
+        assertEquals(0, track.move(0, -30), 0);
+        assertEquals(400, track.move(0, 400), 0);
+        assertEquals(40, track.getValue(0));
+        assertEquals(450, track.move(1, 420), 0);
+        assertEquals(1000, track.move(1, 1200), 0);
+        assertEquals(950, track.move(0, 990), 0);
+        assertEquals(95, track.getValue(0));
+    }
+
+    @Test
+    public void move_closerThanDistance_blockedByShownValues() {
+        // 设置的进度值比distance更近时，以显示的进度值为准，不会先被调整再限制
+        ThumbTrack track = newTrack(5);
+        track.setPosition(0, 100);
+        track.setPosition(1, 120);
+
+        assertEquals(70, track.move(0, 110), 0);
+        assertEquals(7, track.getValue(0));
+        assertEquals(120, track.move(1, 110), 0);
+        assertEquals(12, track.getValue(1));
+    }
+
+    @Test
+    public void constrain_doesNotMove() {
+        ThumbTrack track = newTrack(5);
+
+        assertEquals(300, track.constrain(0, 300), 0);
+        assertEquals(0, track.getPosition(0), 0);
+    }
+
+    @Test
+    public void snapToTick_usesNearestTick() {
+        ThumbTrack track = newTrack(0);
+        track.setSnapToTick(true);
+
+        assertEquals(30, track.valueAt(290));
+        assertEquals(300, track.getSnapTarget(0, 290), 0);
+        track.setPosition(1, 300);
+        // 右边的指示器在30，distance为0时可以吸附到同一个刻度
+        assertEquals(300, track.getSnapTarget(0, 340), 0);
+    }
+
+    @Test
+    public void snapToTick_blockedMove_stopsOnTickKeepingDistance() {
+        ScaleModel model = new ScaleModel(0, 100, 10);
+        model.setBounds(40, 1000);
+        ThumbTrack track = new ThumbTrack(model, 2, 5);
+        track.setSnapToTick(true);
+        track.setPosition(0, 40);
+        track.setPosition(1, 1040);
+
+        // 60离刻度0最近，0 + 5之后最近的刻度是10，不能停在左边指示器的刻度上
+        assertEquals(140, track.move(1, 60), 0);
+        assertEquals(0, track.getValue(0));
+        assertEquals(10, track.getValue(1));
+        assertEquals(40, track.move(0, 200), 0);
+    }
+
+    @Test
+    public void snapToTick_randomDrag_keepsOrderAndDistance() {
+        Random random = new Random(42);
+        long[] spacings = new long[50];
+        for (int i = 0; i < spacings.length; i++) {
+            spacings[i] = 1 + random.nextInt(40);
+        }
+        ScaleModel variable = new ScaleModel(0, 100, 10);
+        variable.setSpacing(0L, spacings);
+        ScaleModel log = new ScaleModel(0, 100, 10);
+        log.setMapping(new LogScaleMapping(1, 10000), 40);
+        for (ScaleModel model : new ScaleModel[]{variable, log}) {
+            model.setBounds(40, 1000);
+            ThumbTrack track = new ThumbTrack(model, 4, 10);
+            track.setSnapToTick(true);
+            long[] values = {model.getMinValue(), 0, 0, model.getMaxValue()};
+            values[1] = values[0] + (values[3] - values[0]) / 3;
+            values[2] = values[0] + (values[3] - values[0]) * 2 / 3;
+            ThumbConstraints.arrange(values, 10, model.getMinValue(), model.getMaxValue());
+            for (int i = 0; i < values.length; i++) {
+                track.setPosition(i, model.valueToPx(values[i]));
+            }
+
+            for (int step = 0; step < 2000; step++) {
+                track.move(random.nextInt(4), -100 + random.nextDouble() * 1240);
+                for (int i = 0; i < 4; i++) {
+                    assertTrue(track.getPosition(i) >= 40 && track.getPosition(i) <= 1040);
+                    if (i > 0) {
+                        assertTrue(track.getPosition(i) >= track.getPosition(i - 1));
+                        assertTrue(track.getValue(i) - track.getValue(i - 1) >= 10);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void denseVariableScale_keepsOnePixelApart() {
+        long[] spacings = new long[2000];
+        for (int i = 0; i < spacings.length; i++) {
+            spacings[i] = 1;
+        }
+        ScaleModel model = new ScaleModel(0, 100, 10);
+        model.setSpacing(0L, spacings);
+        model.setBounds(0, 1000);
+        ThumbTrack track = new ThumbTrack(model, 2, 1);
+        track.setPosition(0, 0);
+        track.setPosition(1, 500);
+
+        double x = track.move(0, 700);
+        assertTrue(x < 500);
+        assertTrue(track.getValue(0) < track.getValue(1));
+    }
+
+    @Test
+    public void variableScale_blockedThumbStaysInBounds() {
+        ScaleModel model = new ScaleModel(0, 100, 10);
+        model.setSpacing(20, 10, 20, 20, 30, 30, 40, 30);
+        model.setBounds(40, 1000);
+        ThumbTrack track = new ThumbTrack(model, 2, 5);
+        track.setPosition(0, 40);
+        track.setPosition(1, 1040);
+
+        // 右边的指示器停在25，左边的指示器已经没有移动的空间
+        assertEquals(112, track.move(1, 0), 0);
+        assertEquals(25, track.getValue(1));
+        double x = track.move(0, 2000);
+        assertTrue(x >= 40);
+        assertTrue(x <= 112);
+    }
+
+    @Test
+    public void drag_allocatesNothing() {
+        final ThumbTrack track = newTrack(5);
+        track.setSnapToTick(true);
+        final double[] checksum = new double[1];
+
+        // 吸附表在预热时第一次使用时分配
+        AllocationCounter.assertNoAllocation(new Runnable() {
+            @Override
+            public void run() {
+                checksum[0] += simulateDrag(track);
+            }
+        });
+        assertTrue(checksum[0] > 0);
+    }
+
+    private static double simulateDrag(ThumbTrack track) {
+        double checksum = 0;
+        for (int x = -50; x < 1050; x++) {
+            checksum += track.move(0, x) + track.move(1, 1000 - x) + track.getValue(0);
+        }
+        return checksum;
+    }
+}
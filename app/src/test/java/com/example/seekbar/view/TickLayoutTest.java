@@ -0,0 +1,53 @@
+package com.example.seekbar.view;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 刻度细节层次测试
+ */
+public class TickLayoutTest {
+
+    @Test
+    public void sparseScale_drawsEveryTick() {
+        TickLayout layout = new TickLayout();
+        layout.update(10, 1000, 8, 40);
+
+        assertEquals(1, layout.getTickStep());
+        assertEquals(1, layout.getLabelStep());
+    }
+
+    @Test
+    public void denseScale_thinsTicksAndLabels() {
+        TickLayout layout = new TickLayout();
+        assertTrue(layout.update(100000, 1000, 8, 40));
+
+        // 每个刻度0.01px，刻度线至少8px即800个刻度，刻度值至少40px即4000个刻度
+        assertEquals(1000, layout.getTickStep());
+        assertEquals(5000, layout.getLabelStep());
+        assertTrue(layout.isLabel(10000));
+        assertFalse(layout.isLabel(1000));
+        assertFalse(layout.update(100000, 1000, 8, 40));
+    }
+
+    @Test
+    public void drawnTicks_dependOnWidthOnly() {
+        TickLayout layout = new TickLayout();
+        for (int count = 1000; count <= 10000000; count *= 10) {
+            layout.update(count, 1000, 8, 40);
+            assertTrue(count / layout.getTickStep() <= 1000 / 8);
+            assertEquals(0, layout.getLabelStep() % layout.getTickStep());
+        }
+    }
+
+    @Test
+    public void niceStep_isMultiple() {
+        assertEquals(1, TickLayout.niceStep(0.3, 1));
+        assertEquals(5, TickLayout.niceStep(3, 1));
+        assertEquals(10, TickLayout.niceStep(3, 2));
+        assertEquals(20, TickLayout.niceStep(11, 2));
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.seekbar.benchmark;
+
+import com.example.seekbar.view.RangeSelector;
+import com.example.seekbar.view.ScaleModel;
+import com.example.seekbar.view.ThumbConstraints;
+import com.example.seekbar.view.ThumbTrack;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * 拖动指示器时的边界和最小距离限制，直接使用SeekBarView拖动时调用的ThumbTrack
+ * <p>
+ * 手势结束时SeekBarView把显示的进度值发布到RangeSelector，对应publishRange
+ */
+public class DragConstraintBenchmark {
+    private static final long DISTANCE = 5;
+    private static final long THUMB_DISTANCE = 1; // 64个指示器在最小的刻度范围内也要放得下
+
+    @State(Scope.Thread)
+    public static class Thumbs {
+        public ThumbTrack track;
+        public ThumbTrack manyTrack;
+        public long[] values = new long[2];
+        public long[] manyValues = new long[64];
+        public RangeSelector selector;
+
+        @Setup(Level.Trial)
+        public void setUp(ScaleState state) {
+            ScaleModel model = state.model;
+            track = new ThumbTrack(model, 2, DISTANCE);
+            track.setPosition(0, model.getStartPx());
+            track.setPosition(1, model.getStartPx() + model.getWidth());
+            manyTrack = new ThumbTrack(model, manyValues.length, THUMB_DISTANCE);
+            for (int i = 0; i < manyValues.length; i++) {
+                manyTrack.setPosition(i, model.getStartPx() + (double) model.getWidth() * i / (manyValues.length - 1));
+            }
+            selector = new RangeSelector(model.getMinValue(), model.getMaxValue(), DISTANCE, 2);
+        }
+    }
+
+    @Benchmark
+    public double dragLeft(ScaleState state, Thumbs thumbs) {
+        return thumbs.track.move(0, state.xs[state.next()]);
+    }
+
+    @Benchmark
+    public double dragRight(ScaleState state, Thumbs thumbs) {
+        return thumbs.track.move(1, state.xs[state.next()]);
+    }
+
+    /**
+     * 拖动一次后发布显示的进度值，与SeekBarView手势结束时相同
+     * 进度值变化时创建新的Range，没有变化时不分配内存
+     */
+    @Benchmark
+    public RangeSelector.Range dragAndPublish(ScaleState state, Thumbs thumbs) {
+        ThumbTrack track = thumbs.track;
+        track.move(0, state.xs[state.next()]);
+        for (int i = 0; i < thumbs.values.length; i++) {
+            thumbs.values[i] = track.getValue(i);
+        }
+        return thumbs.selector.publish(state.model.getMinValue(), state.model.getMaxValue(),
+                track.getDistance(), thumbs.values);
+    }
+
+    /**
+     * 只在进度值变化时创建新的状态
+     */
+    @Benchmark
+    public RangeSelector.Range moveSelector(ScaleState state, Thumbs thumbs) {
+        return thumbs.selector.moveLeft(state.values[state.next()]);
+    }
+
+    @Benchmark
+    public int nearestThumb(ScaleState state, Thumbs thumbs) {
+        return thumbs.manyTrack.nearest(state.xs[state.next()]);
+    }
+
+    @Benchmark
+    public long[] solveThumbValues(ScaleState state, Thumbs thumbs) {
+        long[] values = thumbs.manyValues;
+        for (int i = 0; i < values.length; i++) {
+            values[i] = state.values[(state.next() + i) & (state.values.length - 1)];
+        }
+        ThumbConstraints.solve(values, THUMB_DISTANCE, state.model.getMinValue(), state.model.getMaxValue());
+        return values;
+    }
+}
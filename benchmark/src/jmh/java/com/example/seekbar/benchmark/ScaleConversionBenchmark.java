@@ -0,0 +1,32 @@
+package com.example.seekbar.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+
+/**
+ * 刻度值与px值的换算，对应SeekBarView的getCurrentSeek和calculatePx
+ * <p>
+ * 每次滑动都会调用，耗时不应该随刻度个数线性增长，也不应该分配内存
+ */
+public class ScaleConversionBenchmark {
+
+    @Benchmark
+    public long pxToValue(ScaleState state) {
+        return state.model.pxToValue(state.xs[state.next()]);
+    }
+
+    @Benchmark
+    public double valueToPx(ScaleState state) {
+        return state.model.valueToPx(state.values[state.next()]);
+    }
+
+    /**
+     * 可变刻度查找所在的刻度间隔，原来的getCurrentSpace
+     */
+    @Benchmark
+    public int spaceIndex(ScaleState state) {
+        if (!state.model.isVariable() || state.model.getMapping() != null) {
+            return state.model.getSpaceCount();
+        }
+        return state.model.getSpaceIndex(state.values[state.next()]);
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.seekbar.benchmark;
+
+import com.example.seekbar.view.LogScaleMapping;
+import com.example.seekbar.view.ScaleModel;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+
+/**
+ * 不同刻度个数、刻度类型和精度模式的刻度模型
+ * <p>
+ * 预先生成一组触摸坐标和刻度值，每次调用取下一个，避免JIT把换算当作常量
+ */
+@State(Scope.Thread)
+public class ScaleState {
+    static final float START_PX = 40;
+    static final float WIDTH = 1040;
+    private static final int SAMPLES = 1024; // 2的n次方，取下一个样本时用位运算
+
+    @Param({"10", "1000", "100000"})
+    public int ticks;
+
+    @Param({"fixed", "variable", "log"})
+    public String scale;
+
+    // default与SeekBarView默认的非精确模式相同，precise为precisionMode开启时
+    @Param({"default", "precise"})
+    public String precision;
+
+    public ScaleModel model;
+    public float[] xs;
+    public long[] values;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        model = new ScaleModel(0, ticks * 10L, 10);
+        if ("variable".equals(scale)) {
+            long[] spacings = new long[ticks];
+            for (int i = 0; i < ticks; i++) {
+                spacings[i] = 1 + random.nextInt(100);
+            }
+            model.setSpacing(0L, spacings);
+        } else if ("log".equals(scale)) {
+            model.setMapping(new LogScaleMapping(1, ticks * 10L), ticks);
+        }
+        model.setBounds(START_PX, WIDTH);
+        model.setPrecise("precise".equals(precision));
+
+        xs = new float[SAMPLES];
+        values = new long[SAMPLES];
+        long range = model.getMaxValue() - model.getMinValue();
+        for (int i = 0; i < SAMPLES; i++) {
+            xs[i] = START_PX + random.nextFloat() * WIDTH;
+            values[i] = model.getMinValue() + (long) (random.nextDouble() * range);
+        }
+    }
+
+    int next() {
+        cursor = (cursor + 1) & (SAMPLES - 1);
+        return cursor;
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.seekbar.benchmark;
+
+import com.example.seekbar.view.DigitAdvances;
+import com.example.seekbar.view.NumberChars;
+import com.example.seekbar.view.TickLayout;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * 刻度值的生成，对应SeekBarView的buildTickLabels和drawTextShow
+ * <p>
+ * 画出的刻度值个数由TickLayout按照宽度决定，与刻度个数无关
+ */
+public class TickLabelBenchmark {
+    private static final float MIN_TICK_PITCH = 8;
+    private static final float LABEL_PITCH = 48;
+
+    @State(Scope.Thread)
+    public static class Labels {
+        public final TickLayout layout = new TickLayout();
+        public final char[] buffer = new char[NumberChars.MAX_LENGTH];
+        // 接近常见字体的数字宽度，宽度相加的耗时与具体的值无关
+        public final DigitAdvances advances = new DigitAdvances(
+                new float[]{11.1f, 11.1f, 11.1f, 11.1f, 11.1f, 11.1f, 11.1f, 11.1f, 11.1f, 11.1f, 6.7f});
+    }
+
+    /**
+     * 刻度或宽度变化时重新生成需要画的刻度值
+     */
+    @Benchmark
+    public void buildLabels(ScaleState state, Labels labels, Blackhole blackhole) {
+        int count = state.model.getSpaceCount();
+        labels.layout.update(count, state.model.getWidth(), MIN_TICK_PITCH, LABEL_PITCH);
+        int labelStep = labels.layout.getLabelStep();
+        for (long index = labelStep; index < count; index += labelStep) {
+            blackhole.consume(state.model.getTickValue((int) index));
+        }
+    }
+
+    /**
+     * 滑动时每帧格式化一次显示的进度值，不应该分配内存
+     */
+    @Benchmark
+    public int formatShowText(ScaleState state, Labels labels) {
+        long value = state.model.pxToValue(state.xs[state.next()]);
+        return NumberChars.format(value, labels.buffer);
+    }
+
+    /**
+     * 滑动时每帧计算一次显示的进度值的宽度，由数字宽度相加得到
+     */
+    @Benchmark
+    public float measureShowText(ScaleState state, Labels labels) {
+        return labels.advances.measure(state.values[state.next()]);
+    }
+}